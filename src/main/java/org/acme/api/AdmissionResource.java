@@ -0,0 +1,37 @@
+package org.acme.api;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import org.acme.service.WriteAdmission;
+
+// Метрики контролю допуску записів
+@Path("/admission")
+@Produces(MediaType.APPLICATION_JSON)
+public class AdmissionResource {
+
+    @Inject
+    WriteAdmission writeAdmission;
+
+    // GET /admission/status — ліміт і поточна кількість записів у роботі, прийняті та відхилені записи
+    @GET
+    @Path("/status")
+    public AdmissionStatus status() {
+        AdmissionStatus status = new AdmissionStatus();
+        status.maxInFlight = writeAdmission.getMaxInFlight();
+        status.inFlight = writeAdmission.getInFlight();
+        status.admitted = writeAdmission.getAdmitted();
+        status.shed = writeAdmission.getShed();
+        return status;
+    }
+
+    // DTO для відповіді зі статусом контролю допуску
+    public static class AdmissionStatus {
+        public int maxInFlight;
+        public int inFlight;
+        public long admitted;
+        public long shed;
+    }
+}
@@ -0,0 +1,87 @@
+package org.acme.api;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.acme.service.ReplicationFollower;
+import org.acme.service.ReplicationLog;
+
+import java.util.Optional;
+
+// Ендпоінти реплікації: лідер віддає знімок і журнал змін, будь-який вузол — свій статус
+@Path("/replication")
+@Produces(MediaType.APPLICATION_JSON)
+public class ReplicationResource {
+
+    // Верхня межа очікування long-poll, щоб не тримати потік запиту надто довго
+    private static final long MAX_WAIT_MS = 30_000;
+
+    @Inject
+    ReplicationLog replicationLog;
+
+    @Inject
+    ReplicationFollower replicationFollower;
+
+    // GET /replication/snapshot
+    @GET
+    @Path("/snapshot")
+    public Response snapshot() {
+        if (!replicationLog.isEnabled()) {
+            return Response.status(Response.Status.NOT_FOUND).entity("Вузол не є лідером реплікації.").build();
+        }
+        return Response.ok(replicationLog.snapshot()).build(); // 200 OK
+    }
+
+    // GET /replication/log?from=42&waitMs=1000
+    @GET
+    @Path("/log")
+    public Response log(@QueryParam("from") long fromSeq, @QueryParam("waitMs") long waitMillis) {
+        if (!replicationLog.isEnabled()) {
+            return Response.status(Response.Status.NOT_FOUND).entity("Вузол не є лідером реплікації.").build();
+        }
+        try {
+            Optional<ReplicationLog.LogBatch> batch =
+                    replicationLog.entriesAfter(fromSeq, Math.min(Math.max(waitMillis, 0), MAX_WAIT_MS));
+            if (batch.isPresent()) {
+                return Response.ok(batch.get()).build(); // 200 OK
+            }
+            return Response.status(Response.Status.GONE).build(); // 410 Gone: потрібен новий знімок
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    // GET /replication/status — роль вузла та метрики відставання фоловера
+    @GET
+    @Path("/status")
+    public ReplicationStatus status() {
+        ReplicationStatus status = new ReplicationStatus();
+        if (replicationFollower.isFollower()) {
+            status.role = "follower";
+            status.leaderUrl = replicationFollower.getLeaderUrl();
+            status.appliedSeq = replicationFollower.getAppliedSeq();
+            status.leaderHeadSeq = replicationFollower.getLeaderHeadSeq();
+            status.lagEntries = replicationFollower.getLagEntries();
+            status.lagMillis = replicationFollower.getLagMillis();
+            status.millisSinceLastContact = replicationFollower.getMillisSinceLastContact();
+        } else {
+            status.role = replicationLog.isEnabled() ? "leader" : "standalone";
+            status.appliedSeq = replicationLog.getHeadSeq();
+            status.leaderHeadSeq = status.appliedSeq;
+        }
+        return status;
+    }
+
+    // DTO для відповіді зі статусом реплікації
+    public static class ReplicationStatus {
+        public String role;
+        public String leaderUrl;
+        public long appliedSeq;
+        public long leaderHeadSeq;
+        public long lagEntries;
+        public long lagMillis;
+        public long millisSinceLastContact;
+    }
+}
@@ -0,0 +1,166 @@
+package org.acme.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.acme.domain.Task;
+import org.acme.domain.TaskPriority;
+import org.acme.domain.TaskStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Компактний бінарний формат задач (CBOR) для міжсервісних клієнтів.
+ * Замість об'єктів з іменами полів кожна задача кодується позиційним масивом,
+ * enum-и — ординалами, дати — мілісекундами від епохи (як їх зберігає Task):
+ *
+ *   задача:           [id, title, status, priority, createdAt, updatedAt, version]
+ *   створення задачі: [title, priority]
+ *
+ * Список задач і пакет створення — CBOR-масиви таких елементів.
+ */
+public final class TaskCborCodec {
+
+    public static final String APPLICATION_CBOR = "application/cbor";
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private static final JsonFactory FACTORY = new CBORFactory();
+
+    private TaskCborCodec() {
+    }
+
+    // --- Кодування ---
+
+    public static void writeTask(Task task, OutputStream out) throws IOException {
+        try (JsonGenerator generator = FACTORY.createGenerator(out)) {
+            writeTask(generator, task);
+        }
+    }
+
+    public static void writeTasks(Collection<? extends Task> tasks, OutputStream out) throws IOException {
+        try (JsonGenerator generator = FACTORY.createGenerator(out)) {
+            generator.writeStartArray(tasks, tasks.size());
+            for (Task task : tasks) {
+                writeTask(generator, task);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private static void writeTask(JsonGenerator generator, Task task) throws IOException {
+        generator.writeStartArray(task, 7);
+        generator.writeNumber(task.getId());
+        generator.writeString(task.getTitle());
+        writeOrdinal(generator, task.getStatus());
+        writeOrdinal(generator, task.getPriority());
+        generator.writeNumber(task.createdAtEpochMillis());
+        generator.writeNumber(task.updatedAtEpochMillis());
+        generator.writeNumber(task.getVersion());
+        generator.writeEndArray();
+    }
+
+    private static void writeOrdinal(JsonGenerator generator, Enum<?> value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.ordinal());
+        }
+    }
+
+    // --- Декодування ---
+
+    // Читає список задач (для клієнтів і бенчмарку)
+    public static List<Task> readTasks(InputStream in) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            expect(parser.nextToken(), JsonToken.START_ARRAY);
+            List<Task> tasks = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                tasks.add(readTask(parser));
+            }
+            return tasks;
+        }
+    }
+
+    private static Task readTask(JsonParser parser) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_ARRAY);
+        long id = nextLong(parser);
+        String title = nextString(parser);
+        TaskStatus status = nextOrdinal(parser, STATUSES);
+        TaskPriority priority = nextOrdinal(parser, PRIORITIES);
+        long createdAt = nextLong(parser);
+        long updatedAt = nextLong(parser);
+        long version = nextLong(parser);
+        expect(parser.nextToken(), JsonToken.END_ARRAY);
+        return new Task(id, title, status, priority,
+                Task.fromEpochMillis(createdAt), Task.fromEpochMillis(updatedAt), version);
+    }
+
+    public static TaskResource.TaskCreationDTO readCreation(InputStream in) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            parser.nextToken();
+            return readCreation(parser);
+        }
+    }
+
+    public static List<TaskResource.TaskCreationDTO> readCreations(InputStream in) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            expect(parser.nextToken(), JsonToken.START_ARRAY);
+            List<TaskResource.TaskCreationDTO> result = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                result.add(readCreation(parser));
+            }
+            return result;
+        }
+    }
+
+    private static TaskResource.TaskCreationDTO readCreation(JsonParser parser) throws IOException {
+        expect(parser.currentToken(), JsonToken.START_ARRAY);
+        TaskResource.TaskCreationDTO dto = new TaskResource.TaskCreationDTO();
+        dto.title = nextString(parser);
+        dto.priority = nextOrdinal(parser, PRIORITIES);
+        expect(parser.nextToken(), JsonToken.END_ARRAY);
+        return dto;
+    }
+
+    private static long nextLong(JsonParser parser) throws IOException {
+        expect(parser.nextToken(), JsonToken.VALUE_NUMBER_INT);
+        return parser.getLongValue();
+    }
+
+    private static String nextString(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(token, JsonToken.VALUE_STRING);
+        return parser.getText();
+    }
+
+    private static <E> E nextOrdinal(JsonParser parser, E[] values) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        expect(token, JsonToken.VALUE_NUMBER_INT);
+        int ordinal = parser.getIntValue();
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IOException("Некоректний ординал: " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Некоректний CBOR: очікувався " + expected + ", отримано " + actual);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.acme.api;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import org.acme.domain.Task;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Провайдер формату application/cbor (див. TaskCborCodec):
+ * відповіді з Task / List<Task> і тіла запитів створення (одиночного та пакетного).
+ */
+@Provider
+@Produces(TaskCborCodec.APPLICATION_CBOR)
+@Consumes(TaskCborCodec.APPLICATION_CBOR)
+public class TaskCborProvider implements MessageBodyWriter<Object>, MessageBodyReader<Object> {
+
+    // --- Відповіді ---
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        if (Task.class.isAssignableFrom(type)) {
+            return true;
+        }
+        return Collection.class.isAssignableFrom(type) && hasElementType(genericType, Task.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void writeTo(Object entity, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        if (entity instanceof Task task) {
+            TaskCborCodec.writeTask(task, entityStream);
+        } else {
+            TaskCborCodec.writeTasks((Collection<? extends Task>) entity, entityStream);
+        }
+    }
+
+    // --- Тіла запитів ---
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        if (type == TaskResource.TaskCreationDTO.class) {
+            return true;
+        }
+        return List.class.isAssignableFrom(type) && hasElementType(genericType, TaskResource.TaskCreationDTO.class);
+    }
+
+    @Override
+    public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                           MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+        try {
+            if (TaskResource.TaskCreationDTO.class.equals(type)) {
+                return TaskCborCodec.readCreation(entityStream);
+            }
+            return TaskCborCodec.readCreations(entityStream);
+        } catch (IOException e) {
+            throw new BadRequestException(Response.status(Response.Status.BAD_REQUEST)
+                    .entity(e.getMessage()).build());
+        }
+    }
+
+    private static boolean hasElementType(Type genericType, Class<?> elementType) {
+        if (genericType instanceof ParameterizedType parameterized) {
+            Type[] arguments = parameterized.getActualTypeArguments();
+            return arguments.length == 1
+                    && arguments[0] instanceof Class<?> element
+                    && elementType.isAssignableFrom(element);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,268 @@
+package org.acme.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.acme.service.ReplicationFollower;
+import org.acme.service.TaskCsvImporter;
+import org.acme.service.WriteRejectedException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+
+/**
+ * POST /tasks/import — CSV у форматі файлу сховища (заголовок необов'язковий), upsert задач за id.
+ * Це єдиний шлях, що приймає тіло більше за загальний ліміт quarkus.http.limits.max-body-size, тому він
+ * обслуговується окремим маршрутом Vert.x, що стоїть перед маршрутом загального ліміту Quarkus (порядок -2)
+ * і сам завершує запит. Тіло потоково передається в TaskCsvImporter з власним лімітом
+ * tasks.import.max-body-size; решта шляхів, як і раніше, обмежена загальним лімітом.
+ */
+@ApplicationScoped
+public class TaskImportRoute {
+
+    static final String IMPORT_PATH = "/tasks/import";
+
+    // Перед маршрутом загального ліміту тіла Quarkus (порядок -2)
+    private static final int ROUTE_ORDER = -3;
+
+    @ConfigProperty(name = "tasks.import.max-body-size", defaultValue = "8G")
+    MemorySize maxBodySize;
+
+    @Inject
+    TaskCsvImporter taskCsvImporter;
+
+    // На фоловері імпорт перенаправляється на лідера
+    @Inject
+    ReplicationFollower replicationFollower;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    void init(@Observes Router router) {
+        router.post(IMPORT_PATH).order(ROUTE_ORDER).handler(this::handle);
+    }
+
+    private void handle(RoutingContext ctx) {
+        HttpServerRequest request = ctx.request();
+        if (replicationFollower.isFollower()) {
+            // 307 Temporary Redirect зберігає метод і тіло запиту при повторі на лідері
+            ctx.response().putHeader(HttpHeaders.LOCATION, replicationFollower.getLeaderUrl() + IMPORT_PATH);
+            endUnread(ctx, 307, null);
+            return;
+        }
+        long limit = maxBodySize.asLongValue();
+        String contentLength = request.getHeader(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength != null) {
+            long length;
+            try {
+                length = Long.parseLong(contentLength.trim());
+            } catch (NumberFormatException e) {
+                endUnread(ctx, 400, "Некоректний Content-Length: " + contentLength);
+                return;
+            }
+            if (length > limit) {
+                endUnread(ctx, 413, null); // 413 Content Too Large
+                return;
+            }
+        }
+        if (!isCsv(request.getHeader(HttpHeaders.CONTENT_TYPE))) {
+            endUnread(ctx, 415, "Очікується Content-Type: text/csv");
+            return;
+        }
+
+        RequestBodyStream body = new RequestBodyStream(ctx, limit);
+        ctx.vertx().executeBlocking(() -> taskCsvImporter.importCsv(body), false)
+                .onSuccess(result -> respondJson(ctx, result)) // 200 OK
+                .onFailure(e -> respondError(ctx, body, e));
+    }
+
+    private static boolean isCsv(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.split(";", 2)[0].trim().toLowerCase();
+        return type.equals("text/csv") || type.equals("text/plain");
+    }
+
+    private void respondJson(RoutingContext ctx, TaskCsvImporter.ImportResult result) {
+        try {
+            ctx.response()
+                    .putHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                    .end(objectMapper.writeValueAsString(result));
+        } catch (JsonProcessingException e) {
+            ctx.fail(e);
+        }
+    }
+
+    private static void respondError(RoutingContext ctx, RequestBodyStream body, Throwable e) {
+        HttpServerResponse response = ctx.response();
+        int status;
+        String message;
+        if (e instanceof BodyTooLargeException) {
+            status = 413;
+            message = null;
+        } else if (e instanceof WriteRejectedException rejected) {
+            status = 503;
+            message = rejected.getMessage();
+            response.putHeader("Retry-After", String.valueOf(rejected.getRetryAfterSeconds()));
+        } else if (e instanceof IOException) {
+            status = 400;
+            message = "Помилка читання CSV: " + e.getMessage();
+        } else {
+            System.err.println("TaskImportRoute: Помилка імпорту: " + e);
+            status = 500;
+            message = null;
+        }
+        if (body.isEnded()) {
+            end(ctx, status, message);
+        } else {
+            endUnread(ctx, status, message);
+        }
+    }
+
+    private static void end(RoutingContext ctx, int status, String message) {
+        HttpServerResponse response = ctx.response().setStatusCode(status);
+        if (message == null) {
+            response.end();
+        } else {
+            response.putHeader(HttpHeaders.CONTENT_TYPE, "text/plain; charset=UTF-8").end(message);
+        }
+    }
+
+    // Тіло не дочитане, тож з'єднання закривається після відповіді
+    private static void endUnread(RoutingContext ctx, int status, String message) {
+        ctx.response().putHeader(HttpHeaders.CONNECTION, "close");
+        ctx.response().endHandler(v -> ctx.request().connection().close());
+        end(ctx, status, message);
+    }
+
+    // Тіло перевищило tasks.import.max-body-size (запит без Content-Length)
+    static final class BodyTooLargeException extends IOException {
+        BodyTooLargeException() {
+            super("Тіло запиту перевищує ліміт імпорту");
+        }
+    }
+
+    /**
+     * Тіло запиту як InputStream для блокуючого читання в робочому потоці. Буфери з циклу подій
+     * складаються в чергу; коли непрочитаних більше за MAX_QUEUED, запит призупиняється, тож пам'ять
+     * під тіло обмежена незалежно від його розміру.
+     */
+    static final class RequestBodyStream extends InputStream {
+
+        private static final int MAX_QUEUED = 16;
+
+        private final HttpServerRequest request;
+        private final Context context;
+        private final long limit;
+
+        private final ArrayDeque<Buffer> queue = new ArrayDeque<>();
+        private Buffer current;
+        private int position;
+        private long received;
+        private boolean paused;
+        private boolean ended;
+        private boolean tooLarge;
+        private Throwable error;
+
+        RequestBodyStream(RoutingContext ctx, long limit) {
+            this.request = ctx.request();
+            this.context = ctx.vertx().getOrCreateContext();
+            this.limit = limit;
+            request.handler(this::onData);
+            request.endHandler(v -> onEnd());
+            request.exceptionHandler(this::onError);
+            request.resume();
+        }
+
+        private synchronized void onData(Buffer buffer) {
+            if (tooLarge) {
+                return;
+            }
+            received += buffer.length();
+            if (received > limit) {
+                tooLarge = true;
+                queue.clear();
+                request.pause();
+            } else {
+                queue.add(buffer);
+                if (queue.size() >= MAX_QUEUED && !paused) {
+                    paused = true;
+                    request.pause();
+                }
+            }
+            notifyAll();
+        }
+
+        private synchronized void onEnd() {
+            ended = true;
+            notifyAll();
+        }
+
+        private synchronized void onError(Throwable e) {
+            error = e;
+            notifyAll();
+        }
+
+        // Тіло отримано повністю (з'єднання можна використовувати далі)
+        synchronized boolean isEnded() {
+            return ended;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (current == null || position == current.length()) {
+                if (tooLarge) {
+                    throw new BodyTooLargeException();
+                }
+                if (!queue.isEmpty()) {
+                    current = queue.poll();
+                    position = 0;
+                    if (paused && queue.size() <= MAX_QUEUED / 2) {
+                        paused = false;
+                        context.runOnContext(v -> request.resume());
+                    }
+                    continue;
+                }
+                if (error != null) {
+                    throw new IOException(error);
+                }
+                if (ended) {
+                    return -1;
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            int n = Math.min(len, current.length() - position);
+            current.getBytes(position, position + n, b, off);
+            position += n;
+            return n;
+        }
+    }
+}
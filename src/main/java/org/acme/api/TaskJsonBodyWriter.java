@@ -0,0 +1,54 @@
+package org.acme.api;
+
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import org.acme.domain.Task;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * JSON-провайдер для Task та колекцій Task (List<Task> з методів TaskResource).
+ * Замість універсального Jackson використовує TaskJsonSerializer із кешем закодованих байтів.
+ * Інші типи (DTO, статистика тощо) і надалі серіалізує Jackson.
+ */
+@Provider
+@Produces(MediaType.APPLICATION_JSON)
+public class TaskJsonBodyWriter implements MessageBodyWriter<Object> {
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        if (Task.class.isAssignableFrom(type)) {
+            return true;
+        }
+        return Collection.class.isAssignableFrom(type) && isTaskCollection(genericType);
+    }
+
+    private static boolean isTaskCollection(Type genericType) {
+        if (genericType instanceof ParameterizedType parameterized) {
+            Type[] arguments = parameterized.getActualTypeArguments();
+            return arguments.length == 1
+                    && arguments[0] instanceof Class<?> element
+                    && Task.class.isAssignableFrom(element);
+        }
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void writeTo(Object entity, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        if (entity instanceof Task task) {
+            entityStream.write(TaskJsonSerializer.toJson(task));
+        } else {
+            TaskJsonSerializer.writeArray((Collection<? extends Task>) entity, entityStream);
+        }
+    }
+}
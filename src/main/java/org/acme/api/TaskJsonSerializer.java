@@ -0,0 +1,141 @@
+package org.acme.api;
+
+import org.acme.domain.Task;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Серіалізатор Task у JSON без рефлексії.
+ * Закодовані байти кешуються в самій задачі й скидаються її сеттерами, тож незмінена
+ * задача кодується лише один раз, а список задач збирається конкатенацією готових фрагментів.
+ * Кеш обмежений: JSON тримають не більше MAX_CACHED задач одночасно. Закешовані задачі записуються
+ * в кільце, і задача, що займала слот раніше, втрачає свій кеш (FIFO). Без обмеження кеш коштував би
+ * ~180 байтів heap на кожну задачу поверх ~52 байтів самої задачі (див. TaskFootprintBenchmark).
+ *
+ * Формат збігається з тим, що раніше видавав Jackson:
+ * {"id":1,"title":"...","status":"NEW","priority":"HIGH","createdAt":"2025-01-01T10:00:00","updatedAt":"...","version":0}
+ */
+public final class TaskJsonSerializer {
+
+    private static final byte[] EMPTY_ARRAY = {'[', ']'};
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    // Ліміт задач із закешованим JSON (степінь двійки): ~12 МБ heap при типових ~180 байтах на задачу
+    static final int MAX_CACHED = 1 << 16;
+
+    // Кільце задач, що тримають кеш; наступний слот для запису — cacheCursor за модулем MAX_CACHED
+    private static final AtomicReferenceArray<Task> cachedTasks = new AtomicReferenceArray<>(MAX_CACHED);
+    private static final AtomicLong cacheCursor = new AtomicLong();
+
+    private TaskJsonSerializer() {
+    }
+
+    // JSON однієї задачі: з кешу або закодований щойно (і покладений у кеш)
+    public static byte[] toJson(Task task) {
+        byte[] cached = task.cachedJson();
+        if (cached != null) {
+            return cached;
+        }
+        // Репозиторії змінюють задачу під її монітором, тож тут ми не закешуємо напівзмінений стан
+        synchronized (task) {
+            cached = task.cachedJson();
+            if (cached == null) {
+                cached = encode(task);
+                task.cacheJson(cached);
+                evictOldest(task);
+            }
+            return cached;
+        }
+    }
+
+    // Задача займає наступний слот кільця, а попередній власник слота втрачає кеш.
+    // Гонка з повторним кешуванням витісненої задачі лише спричиняє зайве кодування.
+    private static void evictOldest(Task task) {
+        int slot = (int) (cacheCursor.getAndIncrement() & (MAX_CACHED - 1));
+        Task evicted = cachedTasks.getAndSet(slot, task);
+        if (evicted != null && evicted != task) {
+            evicted.cacheJson(null);
+        }
+    }
+
+    // Записує JSON-масив задач, не перекодовуючи ті, що вже є в кеші
+    public static void writeArray(Collection<? extends Task> tasks, OutputStream out) throws IOException {
+        if (tasks.isEmpty()) {
+            out.write(EMPTY_ARRAY);
+            return;
+        }
+        out.write('[');
+        boolean first = true;
+        for (Task task : tasks) {
+            if (!first) {
+                out.write(',');
+            }
+            out.write(toJson(task));
+            first = false;
+        }
+        out.write(']');
+    }
+
+    private static byte[] encode(Task task) {
+        StringBuilder sb = new StringBuilder(160);
+        sb.append("{\"id\":").append(task.getId());
+        sb.append(",\"title\":");
+        appendString(sb, task.getTitle());
+        sb.append(",\"status\":");
+        appendString(sb, task.getStatus() == null ? null : task.getStatus().name());
+        sb.append(",\"priority\":");
+        appendString(sb, task.getPriority() == null ? null : task.getPriority().name());
+        sb.append(",\"createdAt\":");
+        appendDateTime(sb, task.getCreatedAt());
+        sb.append(",\"updatedAt\":");
+        appendDateTime(sb, task.getUpdatedAt());
+        sb.append(",\"version\":").append(task.getVersion());
+        sb.append('}');
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendDateTime(StringBuilder sb, LocalDateTime dateTime) {
+        if (dateTime == null) {
+            sb.append("null");
+        } else {
+            sb.append('"').append(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime)).append('"');
+        }
+    }
+
+    // Екранування як у Jackson: короткі послідовності для \b \t \n \f \r " та зворотної риски,
+    // інші керівні символи — як \\u00XX з великими шістнадцятковими цифрами (наприклад, \\u001F)
+    private static void appendString(StringBuilder sb, String value) {
+        if (value == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\b' -> sb.append("\\b");
+                case '\f' -> sb.append("\\f");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -2,16 +2,31 @@ package org.acme.api;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.GenericEntity;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.UriInfo;
+import org.acme.repository.TaskFileHandler;
 import org.acme.service.PersistenceManager;
+import org.acme.service.ReplicationFollower;
 import org.acme.domain.Task;
 import org.acme.domain.TaskPriority;
+import org.acme.domain.TaskStats;
 import org.acme.domain.TaskStatus;
+import org.acme.domain.TaskVersionConflictException;
 
+import java.io.OutputStreamWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 // Базовий шлях для всіх операцій із задачами
 @Path("/tasks")
@@ -19,41 +34,128 @@ import java.util.Optional;
 @Consumes(MediaType.APPLICATION_JSON)
 public class TaskResource {
 
+    private static final String TEXT_CSV = "text/csv";
+
     // Інжектуємо PersistenceManager, який тепер керує бізнес-логікою та персистентністю
     @Inject
     PersistenceManager persistenceManager;
 
+    // На фоловері реплікації модифікації заборонені й перенаправляються на лідера
+    @Inject
+    ReplicationFollower replicationFollower;
+
     // --- R (Read All & Filter) ---
     // GET /tasks?status=NEW&priority=HIGH
+    // GET /tasks?createdFrom=2025-01-01T00:00:00&createdTo=2025-02-01T00:00:00&updatedSince=2025-01-15T12:00:00
+    // Часові межі задаються у форматі ISO (yyyy-MM-ddTHH:mm:ss) і включні. Якщо задано
+    // хоча б одну з них, результат береться з впорядкованого індексу репозиторію й
+    // додатково фільтрується за status/priority.
+    // includeArchived=true додає до результату задачі з архіву (повний прохід архівними сегментами).
+    // Архів є лише на лідері, тому фоловер перенаправляє такі запити на нього.
     @GET
+    @Produces({MediaType.APPLICATION_JSON, TaskCborCodec.APPLICATION_CBOR})
     public List<Task> getAll(
             @QueryParam("status") TaskStatus status,
-            @QueryParam("priority") TaskPriority priority) {
+            @QueryParam("priority") TaskPriority priority,
+            @QueryParam("createdFrom") String createdFrom,
+            @QueryParam("createdTo") String createdTo,
+            @QueryParam("updatedSince") String updatedSince,
+            @QueryParam("includeArchived") boolean includeArchived,
+            @Context UriInfo uriInfo) {
+        if (includeArchived && replicationFollower.isFollower()) {
+            throw readFromLeader(uriInfo);
+        }
+
+        LocalDateTime from = parseDateTime("createdFrom", createdFrom);
+        LocalDateTime to = parseDateTime("createdTo", createdTo);
+        LocalDateTime since = parseDateTime("updatedSince", updatedSince);
+
+        List<Task> tasks;
+        if (from != null || to != null || since != null) {
+            tasks = findByTimeRange(from, to, since, status, priority);
+        } else if (status != null) {
+            tasks = persistenceManager.filterTasksByStatus(status);
+        } else if (priority != null) {
+            tasks = persistenceManager.filterTasksByPriority(priority);
+        } else {
+            tasks = persistenceManager.getAllTasks();
+        }
 
-        if (status != null) {
-            return persistenceManager.filterTasksByStatus(status);
+        // В архіві є лише задачі з кінцевими статусами — для інших статусів сегменти не читаються
+        if (!includeArchived || (status != null && !PersistenceManager.ARCHIVABLE_STATUSES.contains(status))) {
+            return tasks;
         }
-        if (priority != null) {
-            return persistenceManager.filterTasksByPriority(priority);
+        return withArchived(tasks, t -> (status == null || t.getStatus() == status)
+                && (priority == null || t.getPriority() == priority)
+                && (from == null || !t.getCreatedAt().isBefore(from))
+                && (to == null || !t.getCreatedAt().isAfter(to))
+                && (since == null || !t.getUpdatedAt().isBefore(since)));
+    }
+
+    // Гарячі задачі, доповнені архівними, що відповідають фільтру
+    private List<Task> withArchived(List<Task> tasks, Predicate<Task> filter) {
+        List<Task> result = new ArrayList<>(tasks);
+        result.addAll(persistenceManager.findArchivedTasks(filter));
+        return result;
+    }
+
+    private List<Task> findByTimeRange(LocalDateTime createdFrom, LocalDateTime createdTo, LocalDateTime updatedSince,
+                                       TaskStatus status, TaskPriority priority) {
+        List<Task> tasks;
+        if (createdFrom != null || createdTo != null) {
+            tasks = persistenceManager.findTasksCreatedBetween(createdFrom, createdTo);
+            if (updatedSince != null) {
+                tasks = tasks.stream().filter(t -> !t.getUpdatedAt().isBefore(updatedSince)).toList();
+            }
+        } else {
+            tasks = persistenceManager.findTasksUpdatedSince(updatedSince);
+        }
+        return tasks.stream()
+                .filter(t -> status == null || t.getStatus() == status)
+                .filter(t -> priority == null || t.getPriority() == priority)
+                .toList();
+    }
+
+    // Розбирає ISO дату-час з параметра запиту; некоректне значення — 400 Bad Request
+    private static LocalDateTime parseDateTime(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException(Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Некоректне значення параметра " + name + ": " + value).build());
         }
-        return persistenceManager.getAllTasks();
     }
 
     // --- R (Search By Title) ---
     // GET /tasks/search?title=buy
     @GET
     @Path("/search")
-    public List<Task> searchByTitle(@QueryParam("title") String title) {
+    @Produces({MediaType.APPLICATION_JSON, TaskCborCodec.APPLICATION_CBOR})
+    public List<Task> searchByTitle(@QueryParam("title") String title,
+                                    @QueryParam("includeArchived") boolean includeArchived,
+                                    @Context UriInfo uriInfo) {
         if (title == null || title.trim().isEmpty()) {
             return Collections.emptyList();
         }
-        return persistenceManager.findTasksByTitle(title);
+        if (includeArchived && replicationFollower.isFollower()) {
+            throw readFromLeader(uriInfo);
+        }
+        List<Task> tasks = persistenceManager.findTasksByTitle(title);
+        if (!includeArchived) {
+            return tasks;
+        }
+        String searchTitle = title.toLowerCase();
+        return withArchived(tasks, t -> t.getTitle().toLowerCase().contains(searchTitle));
     }
 
     // --- R (Sort) ---
     // GET /tasks/sort?by=priority
     @GET
     @Path("/sort")
+    @Produces({MediaType.APPLICATION_JSON, TaskCborCodec.APPLICATION_CBOR})
     public List<Task> sortBy(@QueryParam("by") String sortBy) {
 
         if (sortBy == null) {
@@ -71,59 +173,188 @@ public class TaskResource {
         };
     }
 
+    // --- R (Stats) ---
+    // GET /tasks/stats — лічильники за статусом, пріоритетом і матриця статус × пріоритет.
+    // Відповідь формується з інкрементальних лічильників репозиторію, без проходу по задачах.
+    // total завжди дорівнює сумі матриці, але лічильники читаються без блокування: під час паралельних
+    // записів задача, що змінює статус чи пріоритет, може потрапити у відповідь двічі або не потрапити.
+    // Архівні задачі не враховуються; includeArchived=true додає їх (повний прохід архівними сегментами,
+    // на фоловері — перенаправлення на лідера).
+    @GET
+    @Path("/stats")
+    public TaskStats stats(@QueryParam("includeArchived") boolean includeArchived, @Context UriInfo uriInfo) {
+        if (!includeArchived) {
+            return persistenceManager.getStats();
+        }
+        if (replicationFollower.isFollower()) {
+            throw readFromLeader(uriInfo);
+        }
+        return persistenceManager.getStatsWithArchived();
+    }
+
     // --- R (Read By ID) ---
     // GET /tasks/{id}
+    // Задачі, якої немає на фоловері, може бути в архіві лідера — запит перенаправляється туди.
     @GET
     @Path("/{id}")
-    public Response getById(@PathParam("id") long id) {
+    @Produces({MediaType.APPLICATION_JSON, TaskCborCodec.APPLICATION_CBOR})
+    public Response getById(@PathParam("id") long id, @Context UriInfo uriInfo) {
         Optional<Task> task = persistenceManager.getTaskById(id);
 
         if (task.isPresent()) {
-            return Response.ok(task.get()).build(); // 200 OK
+            return Response.ok(task.get()).tag(eTagOf(task.get())).build(); // 200 OK
+        } else if (replicationFollower.isFollower()) {
+            throw readFromLeader(uriInfo); // 307 Temporary Redirect
         } else {
             return Response.status(Response.Status.NOT_FOUND).build(); // 404 Not Found
         }
     }
 
+    // Перенаправлення читання на лідера з тим самим шляхом і параметрами запиту
+    private RedirectionException readFromLeader(UriInfo uriInfo) {
+        URI request = uriInfo.getRequestUri();
+        String query = request.getRawQuery() == null ? "" : "?" + request.getRawQuery();
+        return new RedirectionException(Response.Status.TEMPORARY_REDIRECT,
+                URI.create(replicationFollower.getLeaderUrl() + request.getRawPath() + query));
+    }
+
     // --- C (Create) ---
     // POST /tasks
     @POST
+    @Produces({MediaType.APPLICATION_JSON, TaskCborCodec.APPLICATION_CBOR})
+    @Consumes({MediaType.APPLICATION_JSON, TaskCborCodec.APPLICATION_CBOR})
     public Response create(TaskCreationDTO dto) {
+        if (replicationFollower.isFollower()) {
+            return redirectToLeader("/tasks");
+        }
         if (dto.title == null || dto.title.trim().isEmpty() || dto.priority == null) {
-            return Response.status(Response.Status.BAD_REQUEST).entity("Необхідні поля: title, priority.").build();
+            return Response.status(Response.Status.BAD_REQUEST).entity("Необхідні поля: title, priority.")
+                    .type(MediaType.TEXT_PLAIN).build();
         }
         try {
             Task newTask = persistenceManager.addTask(dto.title, dto.priority);
-            return Response.status(Response.Status.CREATED).entity(newTask).build(); // 201 Created
+            return Response.status(Response.Status.CREATED).entity(newTask).tag(eTagOf(newTask)).build(); // 201 Created
         } catch (IllegalArgumentException e) {
-            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).type(MediaType.TEXT_PLAIN).build();
+        }
+    }
+
+    // --- C (Batch Create) ---
+    // POST /tasks/batch — створює всі задачі пакета з одним записом у сховище.
+    // Якщо хоча б один елемент некоректний, не створюється жодна задача.
+    @POST
+    @Path("/batch")
+    @Produces({MediaType.APPLICATION_JSON, TaskCborCodec.APPLICATION_CBOR})
+    @Consumes({MediaType.APPLICATION_JSON, TaskCborCodec.APPLICATION_CBOR})
+    public Response createBatch(List<TaskCreationDTO> dtos) {
+        if (replicationFollower.isFollower()) {
+            return redirectToLeader("/tasks/batch");
+        }
+        if (dtos == null || dtos.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("Порожній пакет задач.")
+                    .type(MediaType.TEXT_PLAIN).build();
+        }
+        for (TaskCreationDTO dto : dtos) {
+            if (dto == null || dto.title == null || dto.title.trim().isEmpty() || dto.priority == null) {
+                return Response.status(Response.Status.BAD_REQUEST).entity("Необхідні поля кожної задачі: title, priority.")
+                        .type(MediaType.TEXT_PLAIN).build();
+            }
         }
+        List<Task> created = persistenceManager.addTasks(dtos.stream()
+                .map(dto -> new PersistenceManager.NewTask(dto.title, dto.priority))
+                .toList());
+        return Response.status(Response.Status.CREATED)
+                .entity(new GenericEntity<List<Task>>(created) {})
+                .build(); // 201 Created
+    }
+
+    // --- C / U (Import) ---
+    // POST /tasks/import обслуговує окремий маршрут TaskImportRoute: лише він приймає тіло більше за загальний ліміт
+
+    // --- R (Export) ---
+    // GET /tasks/export — усі задачі у форматі файлу сховища, записуються у відповідь потоково
+    @GET
+    @Path("/export")
+    @Produces(TEXT_CSV)
+    public Response exportCsv() {
+        List<Task> tasks = persistenceManager.getAllTasks();
+        StreamingOutput output = out -> TaskFileHandler.writeCsv(tasks,
+                new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        return Response.ok(output)
+                .header("Content-Disposition", "attachment; filename=\"tasks.csv\"")
+                .build();
     }
 
     // --- U (Update) ---
     // PUT /tasks/{id}
+    // Необов'язковий заголовок If-Match: "<version>" вмикає оптимістичну конкурентність:
+    // якщо задачу вже змінив інший клієнт, повертається 412 Precondition Failed.
+    // Архівна задача при зміні повертається в гаряче сховище.
+    // If-Match може містити список тегів ("3", "4"): оновлення проходить, якщо поточна версія є в списку.
+    // Порівняння сильне (RFC 9110): слабкий тег W/"5" не збігається з жодною версією,
+    // а If-Match: * вимагає, щоб задача існувала в момент compare-and-set (паралельне видалення дає 412).
     @PUT
     @Path("/{id}")
-    public Response update(@PathParam("id") long id, TaskUpdateDTO dto) {
-        Optional<Task> updatedTask = persistenceManager.updateTask(
-                id,
-                dto.title,
-                dto.status,
-                dto.priority
-        );
+    public Response update(@PathParam("id") long id, @HeaderParam("If-Match") List<String> ifMatch, TaskUpdateDTO dto) {
+        if (replicationFollower.isFollower()) {
+            return redirectToLeader("/tasks/" + id);
+        }
+        String ifMatchValue = ifMatch == null || ifMatch.isEmpty() ? null : String.join(",", ifMatch);
+        boolean anyVersion = ifMatchValue != null && ifMatchValue.trim().equals("*");
+        List<Long> versions = null;
+        Long expectedVersion = null;
+        if (ifMatchValue != null && !anyVersion) {
+            versions = parseVersions(ifMatchValue);
+            if (versions.isEmpty()) {
+                // Жоден тег не може збігатися з версією (слабкі або некоректні)
+                return Response.status(Response.Status.PRECONDITION_FAILED).build(); // 412 Precondition Failed
+            }
+            expectedVersion = versions.get(0);
+        }
+
+        Optional<Task> updatedTask;
+        while (true) {
+            try {
+                updatedTask = persistenceManager.updateTask(
+                        id,
+                        dto.title,
+                        dto.status,
+                        dto.priority,
+                        expectedVersion
+                );
+                break;
+            } catch (TaskVersionConflictException e) {
+                // Поточна версія теж є в списку — повторюємо compare-and-set саме з нею.
+                // Версії лише зростають, тож повторів не більше, ніж тегів у списку.
+                if (versions != null && versions.contains(e.getActualVersion())) {
+                    expectedVersion = e.getActualVersion();
+                    continue;
+                }
+                return Response.status(Response.Status.PRECONDITION_FAILED)
+                        .tag(String.valueOf(e.getActualVersion()))
+                        .entity(e.getMessage())
+                        .build(); // 412 Precondition Failed
+            }
+        }
 
         if (updatedTask.isPresent()) {
-            return Response.ok(updatedTask.get()).build(); // 200 OK
+            return Response.ok(updatedTask.get()).tag(eTagOf(updatedTask.get())).build(); // 200 OK
+        } else if (anyVersion) {
+            // Задачі не було в момент оновлення: умова If-Match: * не виконана
+            return Response.status(Response.Status.PRECONDITION_FAILED).build(); // 412 Precondition Failed
         } else {
             return Response.status(Response.Status.NOT_FOUND).build(); // 404 Not Found
         }
     }
 
     // --- D (Delete) ---
-    // DELETE /tasks/{id}
+    // DELETE /tasks/{id} — видаляє задачу і з гарячого сховища, і з архіву
     @DELETE
     @Path("/{id}")
     public Response delete(@PathParam("id") long id) {
+        if (replicationFollower.isFollower()) {
+            return redirectToLeader("/tasks/" + id);
+        }
         boolean deleted = persistenceManager.removeTask(id);
 
         if (deleted) {
@@ -133,6 +364,47 @@ public class TaskResource {
         }
     }
 
+    // 307 Temporary Redirect зберігає метод і тіло запиту при повторі на лідері
+    private Response redirectToLeader(String path) {
+        return Response.temporaryRedirect(URI.create(replicationFollower.getLeaderUrl() + path)).build();
+    }
+
+    // --- ETag / If-Match ---
+
+    // ETag задачі — це її номер версії
+    private static String eTagOf(Task task) {
+        return String.valueOf(task.getVersion());
+    }
+
+    // Розбирає список тегів If-Match ("3", "4") у номери версій; слабкі й некоректні теги пропускаються
+    private static List<Long> parseVersions(String ifMatch) {
+        List<Long> versions = new ArrayList<>();
+        for (String tag : ifMatch.split(",")) {
+            Long version = parseVersion(tag);
+            if (version != null) {
+                versions.add(version);
+            }
+        }
+        return versions;
+    }
+
+    // Розбирає один тег ("5" або 5) у номер версії; null, якщо формат некоректний
+    // або тег слабкий (W/"5"): If-Match допускає лише сильне порівняння
+    private static Long parseVersion(String tag) {
+        String value = tag.trim();
+        if (value.startsWith("W/")) {
+            return null;
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     // --- Внутрішні DTO (Data Transfer Objects) для вхідних даних ---
 
     // DTO для POST-запиту
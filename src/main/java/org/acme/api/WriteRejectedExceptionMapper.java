@@ -0,0 +1,23 @@
+package org.acme.api;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import org.acme.service.WriteRejectedException;
+
+// Відхилений контролем допуску запис — 503 Service Unavailable з Retry-After.
+// Не 429: ліміт спільний для всіх і не розрізняє клієнтів, тож відмова означає перевантаження сервера,
+// а не перевищення квоти конкретним клієнтом. TaskImportRoute відповідає так само.
+@Provider
+public class WriteRejectedExceptionMapper implements ExceptionMapper<WriteRejectedException> {
+
+    @Override
+    public Response toResponse(WriteRejectedException e) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header("Retry-After", e.getRetryAfterSeconds())
+                .entity(e.getMessage())
+                .type(MediaType.TEXT_PLAIN)
+                .build();
+    }
+}
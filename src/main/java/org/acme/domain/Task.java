@@ -1,17 +1,38 @@
 package org.acme.domain;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
+// Компактне представлення: дати зберігаються як long (мілісекунди), а enum-и — як byte-ординали.
+// Це ~52 байти на задачу замість ~162 з двома LocalDateTime (див. TaskFootprintBenchmark).
+// Закешований JSON додає ще ~180 байтів, тому його тримають не більше TaskJsonSerializer.MAX_CACHED задач.
+// Геттери та сеттери працюють із LocalDateTime та enum-ами, як і раніше.
 public class Task {
-    private static long nextId = 1;
+    // Атомарний лічильник: задачі можуть створюватися паралельно з кількох потоків
+    private static final AtomicLong nextId = new AtomicLong(1);
+
+    // Спільні масиви значень enum-ів (values() щоразу створює новий масив)
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    // Позначки відсутніх значень (лише для об'єктів, створених конструктором за замовчуванням)
+    private static final byte NO_ORDINAL = -1;
+    private static final long NO_TIME = Long.MIN_VALUE;
+
     private final long id;
     private String title;
-    private TaskStatus status;
-    private TaskPriority priority;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
+    private byte status = NO_ORDINAL;
+    private byte priority = NO_ORDINAL;
+    // Локальний час, закодований як мілісекунди від епохи з нульовим зсувом (без перерахунку часових поясів)
+    private long createdAt = NO_TIME;
+    private long updatedAt = NO_TIME;
+    // Номер версії для оптимістичної конкурентності (збільшується при кожній зміні)
+    private long version;
+    // Закодований JSON задачі (див. TaskJsonSerializer); скидається будь-якою зміною задачі
+    private transient volatile byte[] json;
 
     // Спільний форматувальник, щоб уникнути дублювання
     private static final DateTimeFormatter FILE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss");
@@ -23,30 +44,53 @@ public class Task {
 
     // Конструктор для нових задач
     public Task(String title, TaskPriority priority) {
-        this.id = nextId++;
+        this.id = nextId.getAndIncrement();
         this.title = title;
-        this.status = TaskStatus.NEW;
-        this.priority = priority;
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        this.status = ordinalOf(TaskStatus.NEW);
+        this.priority = ordinalOf(priority);
+        this.createdAt = nowMillis();
+        this.updatedAt = this.createdAt;
     }
 
     // Конструктор для завантаження існуючих задач з файлу
     public Task(long id, String title, TaskStatus status, TaskPriority priority, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, title, status, priority, createdAt, updatedAt, 0);
+    }
+
+    // Конструктор для завантаження задач разом із номером версії
+    public Task(long id, String title, TaskStatus status, TaskPriority priority, LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
         this.id = id;
         this.title = title;
-        this.status = status;
-        this.priority = priority;
-        this.createdAt = createdAt;
-        this.updatedAt = updatedAt;
+        this.status = ordinalOf(status);
+        this.priority = ordinalOf(priority);
+        this.createdAt = toMillis(createdAt);
+        this.updatedAt = toMillis(updatedAt);
+        this.version = version;
+    }
+
+    // Конструктор копії: поля переносяться як є, без перекодування дат і enum-ів
+    private Task(Task source) {
+        this.id = source.id;
+        this.title = source.title;
+        this.status = source.status;
+        this.priority = source.priority;
+        this.createdAt = source.createdAt;
+        this.updatedAt = source.updatedAt;
+        this.version = source.version;
+    }
+
+    /**
+     * Незалежна копія задачі з тим самим id і версією (кеш JSON не копіюється).
+     * Репозиторії змінюють задачу під її монітором, тож копія не містить напівзміненого стану.
+     */
+    public synchronized Task copy() {
+        return new Task(this);
     }
 
     // --- Управління ID ---
 
     public static void setNextId(long maxId) {
-        if (maxId >= nextId) {
-            nextId = maxId + 1;
-        }
+        nextId.accumulateAndGet(maxId + 1, Math::max);
     }
 
     // --- Геттери та Сеттери ---
@@ -62,55 +106,125 @@ public class Task {
     // 🌟 Додано сеттер для title
     public void setTitle(String title) {
         this.title = title;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = nowMillis();
+        this.json = null;
     }
 
     public TaskStatus getStatus() {
-        return status;
+        return status == NO_ORDINAL ? null : STATUSES[status];
     }
 
     public void setStatus(TaskStatus status) {
-        this.status = status;
-        this.updatedAt = LocalDateTime.now();
+        this.status = ordinalOf(status);
+        this.updatedAt = nowMillis();
+        this.json = null;
     }
 
     public TaskPriority getPriority() {
-        return priority;
+        return priority == NO_ORDINAL ? null : PRIORITIES[priority];
     }
 
     public void setPriority(TaskPriority priority) {
-        this.priority = priority;
-        this.updatedAt = LocalDateTime.now();
+        this.priority = ordinalOf(priority);
+        this.updatedAt = nowMillis();
+        this.json = null;
     }
 
     public LocalDateTime getCreatedAt() {
-        return createdAt;
+        return toLocalDateTime(createdAt);
     }
 
     // 🌟 Додано сеттер для createdAt (для гнучкості при завантаженні/оновленні)
     public void setCreatedAt(LocalDateTime createdAt) {
-        this.createdAt = createdAt;
+        this.createdAt = toMillis(createdAt);
+        this.json = null;
     }
 
     public LocalDateTime getUpdatedAt() {
-        return updatedAt;
+        return toLocalDateTime(updatedAt);
     }
 
     // 🌟 Додано сеттер для updatedAt (корисно для оновлення в TaskFileHandler)
     public void setUpdatedAt(LocalDateTime updatedAt) {
-        this.updatedAt = updatedAt;
+        this.updatedAt = toMillis(updatedAt);
+        this.json = null;
+    }
+
+    // Сирі значення дат для порівнянь і сортування без створення LocalDateTime.
+    // Назви навмисно не у стилі геттерів, щоб не потрапляти в JSON.
+    public long createdAtEpochMillis() {
+        return createdAt;
+    }
+
+    public long updatedAtEpochMillis() {
+        return updatedAt;
+    }
+
+    // --- Кодування полів ---
+
+    private static byte ordinalOf(Enum<?> value) {
+        return value == null ? NO_ORDINAL : (byte) value.ordinal();
+    }
+
+    private static long nowMillis() {
+        return toMillis(LocalDateTime.now());
+    }
+
+    // Кодування LocalDateTime у мілісекунди, узгоджене з createdAtEpochMillis()/updatedAtEpochMillis()
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        return toMillis(dateTime);
+    }
+
+    // Зворотне перетворення для значень, отриманих у бінарному форматі
+    public static LocalDateTime fromEpochMillis(long millis) {
+        return toLocalDateTime(millis);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime == null ? NO_TIME : dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        if (millis == NO_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+                (int) Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    // --- Версіонування ---
+
+    public long getVersion() {
+        return version;
+    }
+
+    // Викликається репозиторієм один раз на кожне успішне оновлення
+    public void incrementVersion() {
+        this.version++;
+        this.json = null;
+    }
+
+    // --- Кеш JSON ---
+    // Назви навмисно не у стилі геттерів/сеттерів, щоб кеш не потрапляв у серіалізацію.
+
+    public byte[] cachedJson() {
+        return json;
+    }
+
+    public void cacheJson(byte[] json) {
+        this.json = json;
     }
 
     // --- Персистентність (FileHandler) ---
 
     public static String getHeader() {
-        return "id,title,status,priority,createdAt,updatedAt";
+        return "id,title,status,priority,createdAt,updatedAt,version";
     }
 
     @Override
     public String toString() {
-        String formattedCreatedAt = createdAt.format(FILE_FORMATTER);
-        String formattedUpdatedAt = updatedAt.format(FILE_FORMATTER);
+        String formattedCreatedAt = getCreatedAt().format(FILE_FORMATTER);
+        String formattedUpdatedAt = getUpdatedAt().format(FILE_FORMATTER);
 
         return String.format(
                 "%d," +
@@ -118,8 +232,9 @@ public class Task {
                         "%s," +
                         "%s," +
                         "%s," +
-                        "%s",
-                id, title, status, priority, formattedCreatedAt, formattedUpdatedAt
+                        "%s," +
+                        "%d",
+                id, title, getStatus(), getPriority(), formattedCreatedAt, formattedUpdatedAt, version
         );
     }
 
@@ -1,5 +1,6 @@
 package org.acme.domain;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,7 +19,18 @@ public interface TaskRepository {
 
     // --- U (Update) ---
     // Узагальнений метод для оновлення
-    Optional<Task> updateTask(long id, String newTitle, TaskStatus newStatus, TaskPriority newPriority);
+    default Optional<Task> updateTask(long id, String newTitle, TaskStatus newStatus, TaskPriority newPriority) {
+        return updateTask(id, newTitle, newStatus, newPriority, null);
+    }
+
+    // Оновлення з перевіркою версії (compare-and-set).
+    // Якщо expectedVersion != null і не збігається з поточною версією задачі,
+    // кидається TaskVersionConflictException, а задача залишається незмінною.
+    Optional<Task> updateTask(long id, String newTitle, TaskStatus newStatus, TaskPriority newPriority, Long expectedVersion);
+
+    // Вставляє задачу як є або замінює наявну з тим самим id
+    // (використовується для застосування змін, отриманих від лідера реплікації)
+    void saveTask(Task task);
 
     // Часткові оновлення
     boolean updateTaskStatus(long id, TaskStatus newStatus);
@@ -27,11 +39,26 @@ public interface TaskRepository {
     // --- D (Delete) ---
     boolean removeTask(long id);
 
+    // Видаляє задачу, лише якщо її версія досі дорівнює expectedVersion (compare-and-delete);
+    // використовується при перенесенні задач в архів, щоб не втратити паралельну зміну
+    boolean removeTaskIfVersion(long id, long expectedVersion);
+
     // --- Пошук та Фільтрація ---
     List<Task> findTasksByTitle(String title);
     List<Task> filterTasksByStatus(TaskStatus status);
     List<Task> filterTasksByPriority(TaskPriority priority);
 
+    // --- Запити за діапазоном часу (впорядковані індекси, O(log N + k)) ---
+    // Задачі, створені в межах [from, to] включно; null означає відкриту межу. Результат упорядковано за createdAt.
+    List<Task> findTasksCreatedBetween(LocalDateTime from, LocalDateTime to);
+    // Задачі, змінені не раніше since. Результат упорядковано за updatedAt.
+    List<Task> findTasksUpdatedSince(LocalDateTime since);
+
+    // --- Статистика ---
+    // Кількість задач за статусом, пріоритетом і в матриці статус × пріоритет.
+    // Підтримується інкрементально, тому виклик не проходить по списку задач.
+    TaskStats getStats();
+
     // --- Сортування ---
     List<Task> sortTasksByCreatedAt();
     List<Task> sortTasksByPriority();
@@ -0,0 +1,38 @@
+package org.acme.domain;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Агреговані лічильники задач: загальна кількість, розподіл за статусом,
+ * за пріоритетом та повна матриця статус × пріоритет.
+ * total, byStatus і byPriority завжди є сумами однієї й тієї ж матриці.
+ */
+public record TaskStats(long total,
+                        Map<TaskStatus, Long> byStatus,
+                        Map<TaskPriority, Long> byPriority,
+                        Map<TaskStatus, Map<TaskPriority, Long>> matrix) {
+
+    // Статистика, доповнена задачами, яких немає в лічильниках (наприклад, архівними)
+    public TaskStats plus(Collection<Task> tasks) {
+        Map<TaskStatus, Long> status = new EnumMap<>(byStatus);
+        Map<TaskPriority, Long> priority = new EnumMap<>(byPriority);
+        Map<TaskStatus, Map<TaskPriority, Long>> cells = new EnumMap<>(TaskStatus.class);
+        matrix.forEach((s, row) -> cells.put(s, new EnumMap<>(row)));
+
+        long added = 0;
+        for (Task task : tasks) {
+            // Як і лічильники репозиторію, задачі без статусу чи пріоритету не враховуються
+            if (task.getStatus() == null || task.getPriority() == null) {
+                continue;
+            }
+            status.merge(task.getStatus(), 1L, Long::sum);
+            priority.merge(task.getPriority(), 1L, Long::sum);
+            cells.computeIfAbsent(task.getStatus(), s -> new EnumMap<>(TaskPriority.class))
+                    .merge(task.getPriority(), 1L, Long::sum);
+            added++;
+        }
+        return new TaskStats(total + added, status, priority, cells);
+    }
+}
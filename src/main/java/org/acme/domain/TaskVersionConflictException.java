@@ -0,0 +1,32 @@
+package org.acme.domain;
+
+/**
+ * Виняток, що сигналізує про конфлікт оптимістичної конкурентності:
+ * задачу вже змінив інший клієнт і її поточна версія не збігається з очікуваною.
+ */
+public class TaskVersionConflictException extends RuntimeException {
+
+    private final long taskId;
+    private final long expectedVersion;
+    private final long actualVersion;
+
+    public TaskVersionConflictException(long taskId, long expectedVersion, long actualVersion) {
+        super("Конфлікт версій задачі " + taskId + ": очікувалась версія " + expectedVersion
+                + ", поточна версія " + actualVersion + ".");
+        this.taskId = taskId;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public long getTaskId() {
+        return taskId;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public long getActualVersion() {
+        return actualVersion;
+    }
+}
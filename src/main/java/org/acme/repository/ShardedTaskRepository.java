@@ -0,0 +1,412 @@
+package org.acme.repository;
+
+import org.acme.domain.Task;
+import org.acme.domain.TaskPriority;
+import org.acme.domain.TaskRepository;
+import org.acme.domain.TaskStats;
+import org.acme.domain.TaskStatus;
+import org.acme.domain.TaskVersionConflictException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Шардований репозиторій задач.
+ * Задачі розподіляються між N шардами за хешем id. Кожен шард має власний
+ * однопотоковий цикл подій (single writer), і лише цей потік читає та змінює дані шарду,
+ * тому жодних блокувань не потрібно, а записи в різні шарди виконуються паралельно.
+ * Запити по всіх задачах (getAllTasks, фільтри, сортування) розсилаються всім шардам
+ * паралельно, а результати зливаються.
+ *
+ * Не є CDI-бином і не вмикається в застосунку: вимірювання (ShardedTaskRepositoryBenchmark, README)
+ * показали, що записи повільніші, ніж у TaskManager. Кожна операція платить за передачу в потік шарду,
+ * а кожен запис застосунку все одно завершується PersistenceManager.persist() — одним замком і повним
+ * знімком усіх шардів. Щоб шардування окупилось, персистентність теж має стати пошардовою або журнальною.
+ */
+public class ShardedTaskRepository implements TaskRepository {
+
+    // Порядок за замовчуванням для злиття результатів: id зростає в порядку створення
+    private static final Comparator<Task> BY_ID = Comparator.comparingLong(Task::getId);
+    private static final Comparator<Task> BY_CREATED_AT =
+            Comparator.comparingLong(Task::createdAtEpochMillis).thenComparing(BY_ID);
+
+    private final Shard[] shards;
+
+    // Спільні для всіх шардів лічильники статус × пріоритет (атомарні, без блокувань)
+    private final TaskCounters counters = new TaskCounters();
+
+    // shardCount = 0 — за кількістю ядер
+    ShardedTaskRepository(int shardCount) {
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(i);
+        }
+        System.out.println("ShardedTaskRepository: Створено " + count + " шардів.");
+    }
+
+    // Зупиняє потоки шардів; після цього репозиторій непридатний
+    void shutdown() {
+        for (Shard shard : shards) {
+            shard.executor.shutdown();
+        }
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    // --- Маршрутизація ---
+
+    private Shard shardFor(long id) {
+        // Перемішуємо біти, щоб послідовні id рівномірно розходились по шардах
+        long h = id * 0x9E3779B97F4A7C15L;
+        return shards[Math.floorMod((int) (h ^ (h >>> 32)), shards.length)];
+    }
+
+    // Виконує дію в потоці шарду й чекає на результат
+    private static <T> T onShard(Shard shard, Supplier<T> action) {
+        try {
+            return CompletableFuture.supplyAsync(action, shard.executor).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Паралельно виконує запит у кожному шарді та повертає часткові результати
+    private <T> List<T> fanOut(Function<Shard, T> query) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(shard), shard.executor));
+        }
+        List<T> results = new ArrayList<>(shards.length);
+        for (CompletableFuture<T> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    // Кожен шард повертає вже відсортований список; зливаємо їх k-way злиттям
+    private List<Task> fanOutSorted(Function<Map<Long, Task>, List<Task>> query, Comparator<Task> order) {
+        return mergeSorted(fanOut(shard -> {
+            List<Task> part = new ArrayList<>(query.apply(shard.tasks));
+            part.sort(order);
+            return part;
+        }), order);
+    }
+
+    // Запит діапазону до індексу кожного шарду; частини вже впорядковані за часом
+    private List<Task> fanOutRange(Function<Shard, TaskTimeIndex> index, long fromMillis, long toMillis,
+                                   Comparator<Task> order) {
+        return mergeSorted(fanOut(shard -> index.apply(shard).range(fromMillis, toMillis)), order);
+    }
+
+    private static List<Task> mergeSorted(List<List<Task>> parts, Comparator<Task> order) {
+        int total = parts.stream().mapToInt(List::size).sum();
+        List<Task> result = new ArrayList<>(total);
+
+        // Елемент черги: {номер частини, позиція в частині}
+        PriorityQueue<int[]> heads = new PriorityQueue<>(
+                (a, b) -> order.compare(parts.get(a[0]).get(a[1]), parts.get(b[0]).get(b[1])));
+        for (int i = 0; i < parts.size(); i++) {
+            if (!parts.get(i).isEmpty()) {
+                heads.add(new int[]{i, 0});
+            }
+        }
+        while (!heads.isEmpty()) {
+            int[] head = heads.poll();
+            List<Task> part = parts.get(head[0]);
+            result.add(part.get(head[1]));
+            if (head[1] + 1 < part.size()) {
+                heads.add(new int[]{head[0], head[1] + 1});
+            }
+        }
+        return result;
+    }
+
+    // --- Ініціалізація ---
+
+    @Override
+    public void setInitialTasks(List<Task> initialTasks) {
+        Map<Shard, List<Task>> byShard = initialTasks.stream()
+                .collect(Collectors.groupingBy(t -> shardFor(t.getId())));
+        counters.clear();
+        fanOut(shard -> {
+            shard.tasks.clear();
+            shard.createdAtIndex.clear();
+            shard.updatedAtIndex.clear();
+            for (Task task : byShard.getOrDefault(shard, Collections.emptyList())) {
+                shard.tasks.put(task.getId(), task);
+                track(shard, task);
+            }
+            return null;
+        });
+    }
+
+    // --- C (Create) ---
+    @Override
+    public Task addTask(String title, TaskPriority priority) {
+        if (title == null || title.trim().isEmpty()) {
+            throw new IllegalArgumentException("Назва задачі не може бути порожньою.");
+        }
+        Task newTask = new Task(title, priority);
+        Shard shard = shardFor(newTask.getId());
+        return onShard(shard, () -> {
+            shard.tasks.put(newTask.getId(), newTask);
+            track(shard, newTask);
+            return newTask;
+        });
+    }
+
+    @Override
+    public void saveTask(Task task) {
+        Shard shard = shardFor(task.getId());
+        onShard(shard, () -> {
+            Task existing = shard.tasks.put(task.getId(), task);
+            if (existing != null) {
+                untrack(shard, existing);
+            }
+            track(shard, task);
+            return null;
+        });
+    }
+
+    // --- R (Read) ---
+    @Override
+    public List<Task> getAllTasks() {
+        return Collections.unmodifiableList(fanOutSorted(tasks -> tasks.values().stream().toList(), BY_ID));
+    }
+
+    @Override
+    public Optional<Task> getTaskById(long id) {
+        Shard shard = shardFor(id);
+        return onShard(shard, () -> Optional.ofNullable(shard.tasks.get(id)));
+    }
+
+    @Override
+    public List<Task> findTasksByTitle(String title) {
+        if (title == null || title.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        final String searchTitle = title.toLowerCase();
+        return fanOutSorted(tasks -> tasks.values().stream()
+                .filter(task -> task.getTitle().toLowerCase().contains(searchTitle))
+                .toList(), BY_ID);
+    }
+
+    // --- R (Time range) ---
+    @Override
+    public List<Task> findTasksCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return fanOutRange(shard -> shard.createdAtIndex,
+                from == null ? Long.MIN_VALUE : Task.toEpochMillis(from),
+                to == null ? Long.MAX_VALUE : Task.toEpochMillis(to),
+                BY_CREATED_AT);
+    }
+
+    @Override
+    public List<Task> findTasksUpdatedSince(LocalDateTime since) {
+        return fanOutRange(shard -> shard.updatedAtIndex, Task.toEpochMillis(since), Long.MAX_VALUE,
+                Comparator.comparingLong(Task::updatedAtEpochMillis).thenComparing(BY_ID));
+    }
+
+    // Лічильники та часові індекси оновлюються в потоці шарду разом із даними
+    private void track(Shard shard, Task task) {
+        counters.add(task.getStatus(), task.getPriority());
+        shard.createdAtIndex.add(task.createdAtEpochMillis(), task);
+        shard.updatedAtIndex.add(task.updatedAtEpochMillis(), task);
+    }
+
+    private void untrack(Shard shard, Task task) {
+        counters.remove(task.getStatus(), task.getPriority());
+        shard.createdAtIndex.remove(task.createdAtEpochMillis(), task);
+        shard.updatedAtIndex.remove(task.updatedAtEpochMillis(), task);
+    }
+
+    // --- U (Update) ---
+    // Потік шарду — єдиний, хто змінює задачі шарду, тому перевірка версії та оновлення атомарні без блокувань.
+    // Монітор задачі тут не є спільним замком (конкурентів-писачів немає): він лише не дає
+    // TaskJsonSerializer закешувати JSON напівзміненої задачі.
+    @Override
+    public Optional<Task> updateTask(long id, String newTitle, TaskStatus newStatus, TaskPriority newPriority, Long expectedVersion) {
+        Shard shard = shardFor(id);
+        return onShard(shard, () -> {
+            Task task = shard.tasks.get(id);
+            if (task == null) {
+                return Optional.empty();
+            }
+            synchronized (task) {
+                if (expectedVersion != null && task.getVersion() != expectedVersion) {
+                    throw new TaskVersionConflictException(id, expectedVersion, task.getVersion());
+                }
+
+                boolean changed = false;
+                TaskStatus oldStatus = task.getStatus();
+                TaskPriority oldPriority = task.getPriority();
+                long oldUpdatedAt = task.updatedAtEpochMillis();
+
+                if (newTitle != null && !newTitle.isEmpty() && !newTitle.equals(task.getTitle())) {
+                    task.setTitle(newTitle);
+                    changed = true;
+                }
+                if (newStatus != null && newStatus != task.getStatus()) {
+                    task.setStatus(newStatus);
+                    changed = true;
+                }
+                if (newPriority != null && newPriority != task.getPriority()) {
+                    task.setPriority(newPriority);
+                    changed = true;
+                }
+
+                if (changed) {
+                    task.setUpdatedAt(LocalDateTime.now());
+                    task.incrementVersion();
+                    counters.move(oldStatus, oldPriority, task.getStatus(), task.getPriority());
+                    shard.updatedAtIndex.update(oldUpdatedAt, task.updatedAtEpochMillis(), task);
+                }
+                return Optional.of(task);
+            }
+        });
+    }
+
+    @Override
+    public boolean updateTaskStatus(long id, TaskStatus newStatus) {
+        Shard shard = shardFor(id);
+        return onShard(shard, () -> {
+            Task task = shard.tasks.get(id);
+            if (task == null) {
+                return false;
+            }
+            synchronized (task) {
+                long oldUpdatedAt = task.updatedAtEpochMillis();
+                counters.move(task.getStatus(), task.getPriority(), newStatus, task.getPriority());
+                task.setStatus(newStatus);
+                task.incrementVersion();
+                shard.updatedAtIndex.update(oldUpdatedAt, task.updatedAtEpochMillis(), task);
+                return true;
+            }
+        });
+    }
+
+    @Override
+    public boolean updateTaskPriority(long id, TaskPriority newPriority) {
+        Shard shard = shardFor(id);
+        return onShard(shard, () -> {
+            Task task = shard.tasks.get(id);
+            if (task == null) {
+                return false;
+            }
+            synchronized (task) {
+                long oldUpdatedAt = task.updatedAtEpochMillis();
+                counters.move(task.getStatus(), task.getPriority(), task.getStatus(), newPriority);
+                task.setPriority(newPriority);
+                task.incrementVersion();
+                shard.updatedAtIndex.update(oldUpdatedAt, task.updatedAtEpochMillis(), task);
+                return true;
+            }
+        });
+    }
+
+    // --- D (Delete) ---
+    @Override
+    public boolean removeTask(long id) {
+        Shard shard = shardFor(id);
+        return onShard(shard, () -> {
+            Task removed = shard.tasks.remove(id);
+            if (removed == null) {
+                return false;
+            }
+            untrack(shard, removed);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean removeTaskIfVersion(long id, long expectedVersion) {
+        Shard shard = shardFor(id);
+        return onShard(shard, () -> {
+            Task task = shard.tasks.get(id);
+            if (task == null || task.getVersion() != expectedVersion) {
+                return false;
+            }
+            shard.tasks.remove(id);
+            untrack(shard, task);
+            return true;
+        });
+    }
+
+    // --- Статистика ---
+    @Override
+    public TaskStats getStats() {
+        return counters.snapshot();
+    }
+
+    // --- Фільтрація ---
+    @Override
+    public List<Task> filterTasksByStatus(TaskStatus status) {
+        return fanOutSorted(tasks -> tasks.values().stream()
+                .filter(t -> t.getStatus() == status)
+                .toList(), BY_ID);
+    }
+
+    @Override
+    public List<Task> filterTasksByPriority(TaskPriority priority) {
+        return fanOutSorted(tasks -> tasks.values().stream()
+                .filter(t -> t.getPriority() == priority)
+                .toList(), BY_ID);
+    }
+
+    // --- Сортування ---
+    // Порядок у межах однакових ключів — за id, щоб результат не залежав від кількості шардів
+    @Override
+    public List<Task> sortTasksByCreatedAt() {
+        // Індекси шардів уже впорядковані за createdAt — лишається тільки злиття
+        return fanOutRange(shard -> shard.createdAtIndex, Long.MIN_VALUE, Long.MAX_VALUE, BY_CREATED_AT);
+    }
+
+    @Override
+    public List<Task> sortTasksByPriority() {
+        return fanOutSorted(tasks -> tasks.values().stream().toList(),
+                Comparator.comparing(Task::getPriority).reversed().thenComparing(BY_ID));
+    }
+
+    @Override
+    public List<Task> sortTasksByStatus() {
+        return fanOutSorted(tasks -> tasks.values().stream().toList(),
+                Comparator.comparing(Task::getStatus).thenComparing(BY_ID));
+    }
+
+    /**
+     * Шард: власний потік і дані, доступні лише з цього потоку.
+     */
+    private static final class Shard {
+        final ExecutorService executor;
+        final Map<Long, Task> tasks = new LinkedHashMap<>();
+        final TaskTimeIndex createdAtIndex = new TaskTimeIndex();
+        final TaskTimeIndex updatedAtIndex = new TaskTimeIndex();
+
+        Shard(int index) {
+            this.executor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "task-shard-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package org.acme.repository;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.acme.domain.Task;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Холодне сховище задач: незмінні сегменти segment-NNNNNN.csv.gz (формат TaskFileHandler, стиснутий gzip).
+ * У пам'яті тримається лише відсортований масив id кожного сегмента (з файлу segment-NNNNNN.ids),
+ * тож пошук за id — бінарний пошук по масивах і читання одного сегмента з диска.
+ * Сегменти незмінні: змінена задача повертається в гаряче сховище (її копія там затіняє архівну),
+ * а видалена ховається надгробком — записом у tombstones.ids з номером останнього сегмента на момент
+ * видалення. Надгробок приховує копії в сегментах з номером не більшим за записаний, тож задача,
+ * яку згодом знову перенесли в архів (новий сегмент), знову видима.
+ * Сегменти, їхні індекси й надгробки записуються з fsync: викликач прибирає задачі з гарячого сховища
+ * лише після того, як writeSegment повернувся, тож після збою задача є або в tasks.csv, або в архіві.
+ */
+@ApplicationScoped
+public class TaskArchive {
+
+    private static final String SEGMENT_SUFFIX = ".csv.gz";
+    private static final String IDS_SUFFIX = ".ids";
+    private static final String TOMBSTONES_FILE = "tombstones.ids";
+
+    @ConfigProperty(name = "tasks.archive.dir", defaultValue = "archive")
+    String archiveDir;
+
+    // Сегменти у порядку створення; пошук іде від найновішого
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+    // Надгробки: id видаленої задачі -> номер останнього сегмента, який вона приховує
+    private final Map<Long, Integer> tombstones = new ConcurrentHashMap<>();
+
+    private record Segment(int number, Path file, long[] ids) {
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, id) >= 0;
+        }
+    }
+
+    // Копія задачі в сегменті видима, якщо її не приховує надгробок
+    private boolean isVisible(Segment segment, long id) {
+        Integer buriedUpTo = tombstones.get(id);
+        return buriedUpTo == null || segment.number() > buriedUpTo;
+    }
+
+    /**
+     * Читає індекс id усіх сегментів каталогу архіву. Викликається один раз при старті.
+     * Лічильник id зсувається за найбільший архівний id, щоб нові задачі не отримали зайнятий id.
+     */
+    public synchronized void loadIndex() {
+        segments.clear();
+        tombstones.clear();
+        Path dir = Path.of(archiveDir);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        loadTombstones(dir.resolve(TOMBSTONES_FILE));
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "segment-*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            System.err.println("TaskArchive: Помилка читання каталогу архіву: " + e.getMessage());
+            return;
+        }
+        files.sort(Comparator.naturalOrder());
+
+        long maxId = 0;
+        for (Path file : files) {
+            try {
+                long[] ids = readIds(file);
+                segments.add(new Segment(segmentNumber(file), file, ids));
+                if (ids.length > 0) {
+                    maxId = Math.max(maxId, ids[ids.length - 1]);
+                }
+            } catch (IOException | NumberFormatException e) {
+                System.err.println("TaskArchive: Сегмент " + file + " пропущено: " + e.getMessage());
+            }
+        }
+        Task.setNextId(maxId);
+        System.out.println("TaskArchive: Завантажено " + segments.size() + " сегментів архіву (" + size() + " задач).");
+    }
+
+    /**
+     * Записує новий незмінний сегмент і повертається лише тоді, коли він разом з індексом id уже на диску.
+     * Файл спершу пишеться в тимчасовий і атомарно перейменовується, тож частково записаний сегмент
+     * ніколи не потрапляє в індекс. Поки задачі є і в гарячому сховищі, гарячі копії затіняють архівні.
+     */
+    public synchronized void writeSegment(List<Task> tasks) throws IOException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        List<Task> sorted = new ArrayList<>(tasks);
+        sorted.sort(Comparator.comparingLong(Task::getId));
+        long[] ids = sorted.stream().mapToLong(Task::getId).toArray();
+
+        Path dir = Files.createDirectories(Path.of(archiveDir));
+        int number = segments.isEmpty() ? 1 : segments.get(segments.size() - 1).number() + 1;
+        String name = String.format("segment-%06d", number);
+        Path file = dir.resolve(name + SEGMENT_SUFFIX);
+
+        writeIds(dir.resolve(name + IDS_SUFFIX), ids);
+        Path tmp = dir.resolve(name + SEGMENT_SUFFIX + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            GZIPOutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(channel));
+            Writer writer = new OutputStreamWriter(gzip, StandardCharsets.UTF_8);
+            TaskFileHandler.writeCsv(sorted, writer);
+            writer.flush();
+            gzip.finish();
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory(dir);
+
+        segments.add(new Segment(number, file, ids));
+        System.out.println("TaskArchive: Записано сегмент " + file + " (" + ids.length + " задач).");
+    }
+
+    /**
+     * Ховає всі наявні архівні копії задачі (після її видалення або якщо вона змінилась, поки її сегмент
+     * записувався). Надгробок записується у файл одразу, тож прихована копія не з'явиться знову після перезапуску.
+     */
+    public synchronized void bury(long id) {
+        int upTo = segments.isEmpty() ? 0 : segments.get(segments.size() - 1).number();
+        tombstones.put(id, upTo);
+        try {
+            Path dir = Files.createDirectories(Path.of(archiveDir));
+            try (FileChannel channel = FileChannel.open(dir.resolve(TOMBSTONES_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                DataOutputStream out = new DataOutputStream(Channels.newOutputStream(channel));
+                out.writeLong(id);
+                out.writeInt(upTo);
+                out.flush();
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            System.err.println("TaskArchive: Помилка запису надгробка задачі " + id + ": " + e.getMessage());
+        }
+    }
+
+    public boolean contains(long id) {
+        for (Segment segment : segments) {
+            if (segment.contains(id) && isVisible(segment, id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Optional<Task> findById(long id) {
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            Segment segment = segments.get(i);
+            if (segment.contains(id) && isVisible(segment, id)) {
+                Optional<Task> found = scan(segment, t -> t.getId() == id, 1).stream().findFirst();
+                if (found.isPresent()) {
+                    return found;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Повний прохід архівом із фільтром (для запитів з includeArchived).
+     * Якщо задача з тим самим id є в кількох сегментах, повертається копія з найновішого;
+     * приховані надгробками копії пропускаються.
+     */
+    public List<Task> find(Predicate<Task> filter) {
+        List<Task> result = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            Segment segment = segments.get(i);
+            result.addAll(scan(segment,
+                    t -> isVisible(segment, t.getId()) && seen.add(t.getId()) && filter.test(t), Integer.MAX_VALUE));
+        }
+        return result;
+    }
+
+    // Кількість задач у сегментах (з урахуванням можливих дублікатів між сегментами і прихованих копій)
+    public long size() {
+        long total = 0;
+        for (Segment segment : segments) {
+            total += segment.ids().length;
+        }
+        return total;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    // Файл надгробків — послідовність пар (id, номер сегмента); пізніший запис для id перекриває ранній
+    private void loadTombstones(Path file) {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                long id;
+                try {
+                    id = in.readLong();
+                } catch (EOFException e) {
+                    return;
+                }
+                tombstones.put(id, in.readInt());
+            }
+        } catch (IOException e) {
+            // Обірваний останній запис (збій під час bury) відкидається, решта вже прочитана
+            System.err.println("TaskArchive: Помилка читання надгробків: " + e.getMessage());
+        }
+    }
+
+    // --- Читання сегментів ---
+
+    private static List<Task> scan(Segment segment, Predicate<Task> filter, int limit) {
+        List<Task> result = new ArrayList<>();
+        try (BufferedReader reader = openSegment(segment.file())) {
+            String line;
+            while (result.size() < limit && (line = reader.readLine()) != null) {
+                Task task = TaskFileHandler.parseLine(line);
+                if (task != null && filter.test(task)) {
+                    result.add(task);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("TaskArchive: Помилка читання сегмента " + segment.file() + ": " + e.getMessage());
+        }
+        return result;
+    }
+
+    private static BufferedReader openSegment(Path file) throws IOException {
+        return new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file), 64 * 1024), StandardCharsets.UTF_8));
+    }
+
+    // Індекс id береться з файлу .ids; якщо його немає (наприклад, збій між записами), будується з сегмента
+    private static long[] readIds(Path segmentFile) throws IOException {
+        Path idsFile = idsFileOf(segmentFile);
+        if (Files.exists(idsFile)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(idsFile)))) {
+                long[] ids = new long[in.readInt()];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = in.readLong();
+                }
+                return ids;
+            }
+        }
+        long[] ids = scan(new Segment(0, segmentFile, new long[0]), t -> true, Integer.MAX_VALUE).stream()
+                .mapToLong(Task::getId)
+                .sorted()
+                .toArray();
+        writeIds(idsFile, ids);
+        return ids;
+    }
+
+    private static void writeIds(Path idsFile, long[] ids) throws IOException {
+        Path tmp = idsFile.resolveSibling(idsFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.writeInt(ids.length);
+            for (long id : ids) {
+                out.writeLong(id);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(tmp, idsFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // Перейменування стає стійким до збою лише після fsync каталогу (не всі ОС дозволяють відкрити каталог)
+    private static void syncDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Без fsync каталогу перейменування все одно атомарне, лише не гарантовано стійке до збою живлення
+        }
+    }
+
+    private static Path idsFileOf(Path segmentFile) {
+        String name = segmentFile.getFileName().toString();
+        return segmentFile.resolveSibling(name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + IDS_SUFFIX);
+    }
+
+    private static int segmentNumber(Path segmentFile) {
+        String name = segmentFile.getFileName().toString();
+        return Integer.parseInt(name.substring("segment-".length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
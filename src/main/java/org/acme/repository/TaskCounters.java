@@ -0,0 +1,83 @@
+package org.acme.repository;
+
+import org.acme.domain.TaskPriority;
+import org.acme.domain.TaskStats;
+import org.acme.domain.TaskStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Інкрементальні лічильники задач у розрізі статус × пріоритет.
+ * Репозиторій оновлює їх при кожному створенні, зміні статусу/пріоритету та видаленні,
+ * тому статистика віддається за O(1) без проходу по списку задач.
+ * Комірки атомарні, тож лічильники можна оновлювати з кількох потоків (або шардів) без блокувань.
+ */
+final class TaskCounters {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private final AtomicLongArray cells = new AtomicLongArray(STATUSES.length * PRIORITIES.length);
+
+    void add(TaskStatus status, TaskPriority priority) {
+        if (status != null && priority != null) {
+            cells.incrementAndGet(cell(status, priority));
+        }
+    }
+
+    void remove(TaskStatus status, TaskPriority priority) {
+        if (status != null && priority != null) {
+            cells.decrementAndGet(cell(status, priority));
+        }
+    }
+
+    void move(TaskStatus oldStatus, TaskPriority oldPriority, TaskStatus newStatus, TaskPriority newPriority) {
+        if (oldStatus != newStatus || oldPriority != newPriority) {
+            remove(oldStatus, oldPriority);
+            add(newStatus, newPriority);
+        }
+    }
+
+    void clear() {
+        for (int i = 0; i < cells.length(); i++) {
+            cells.set(i, 0);
+        }
+    }
+
+    /**
+     * Комірки читаються по одній без блокування. Підсумки (total, byStatus, byPriority) рахуються
+     * з тих самих прочитаних значень, тож завжди збігаються із сумою матриці. Але під час паралельних
+     * змін знімок може не відповідати жодному моменту часу: задача, що переходить між комірками, буває
+     * врахована двічі або жодного разу. Після завершення змін знімок знову точний.
+     */
+    TaskStats snapshot() {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+        Map<TaskStatus, Map<TaskPriority, Long>> matrix = new EnumMap<>(TaskStatus.class);
+        for (TaskPriority priority : PRIORITIES) {
+            byPriority.put(priority, 0L);
+        }
+
+        long total = 0;
+        for (TaskStatus status : STATUSES) {
+            Map<TaskPriority, Long> row = new EnumMap<>(TaskPriority.class);
+            long statusTotal = 0;
+            for (TaskPriority priority : PRIORITIES) {
+                long count = cells.get(cell(status, priority));
+                row.put(priority, count);
+                byPriority.merge(priority, count, Long::sum);
+                statusTotal += count;
+            }
+            matrix.put(status, row);
+            byStatus.put(status, statusTotal);
+            total += statusTotal;
+        }
+        return new TaskStats(total, byStatus, byPriority, matrix);
+    }
+
+    private static int cell(TaskStatus status, TaskPriority priority) {
+        return status.ordinal() * PRIORITIES.length + priority.ordinal();
+    }
+}
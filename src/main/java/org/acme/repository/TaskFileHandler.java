@@ -4,6 +4,7 @@ import jakarta.enterprise.context.ApplicationScoped;
 import org.acme.domain.Task;
 import org.acme.domain.TaskPriority;
 import org.acme.domain.TaskStatus;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import java.io.*;
 import java.time.LocalDateTime;
@@ -16,8 +17,10 @@ import java.util.Scanner;
 @ApplicationScoped
 public class TaskFileHandler implements DataStoreHandler<Task> {
 
-    // Шлях до файлу визначений як константа, оскільки немає конструктора з параметрами
-    private static final String FILE_PATH = "tasks.csv";
+    // Шлях до файлу береться з конфігурації, щоб кілька екземплярів на одній машині
+    // (наприклад, лідер і фоловери реплікації) не писали в один і той самий файл
+    @ConfigProperty(name = "tasks.file.path", defaultValue = "tasks.csv")
+    String filePath;
 
     // Форматувальник для читання/запису дат
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss");
@@ -28,17 +31,12 @@ public class TaskFileHandler implements DataStoreHandler<Task> {
 
 
     // --- C / U (Save All) ---
+    // synchronized: паралельні saveAll не повинні одночасно переписувати один файл
     @Override
-    public void saveAll(List<Task> tasks) {
-        try (FileWriter fileWriter = new FileWriter(FILE_PATH, false);
-             PrintWriter printWriter = new PrintWriter(fileWriter)) {
-
-            printWriter.println(Task.getHeader());
-
-            for (Task task : tasks) {
-                printWriter.println(task.toString());
-            }
-            System.out.println("Задачі успішно збережено у файл: " + FILE_PATH);
+    public synchronized void saveAll(List<Task> tasks) {
+        try (FileWriter fileWriter = new FileWriter(filePath, false)) {
+            writeCsv(tasks, fileWriter);
+            System.out.println("Задачі успішно збережено у файл: " + filePath);
         } catch (IOException e) {
             System.err.println("Помилка при збереженні файлу: " + e.getMessage());
         }
@@ -48,9 +46,9 @@ public class TaskFileHandler implements DataStoreHandler<Task> {
     @Override
     public List<Task> loadAll() {
         List<Task> tasks = new ArrayList<>();
-        File file = new File(FILE_PATH);
+        File file = new File(filePath);
         if (!file.exists()) {
-            System.out.println("Файл " + FILE_PATH + " не знайдено. Буде створено новий.");
+            System.out.println("Файл " + filePath + " не знайдено. Буде створено новий.");
             return tasks;
         }
 
@@ -62,32 +60,67 @@ public class TaskFileHandler implements DataStoreHandler<Task> {
             }
             while (scanner.hasNextLine()) {
                 String line = scanner.nextLine();
-                String[] values = line.split("\\s*,\\s*");
-
-                if (values.length == 6) {
-                    try {
-                        long id = Long.parseLong(values[0]);
-                        String title = values[1];
-                        TaskStatus status = TaskStatus.valueOf(values[2]);
-                        TaskPriority priority = TaskPriority.valueOf(values[3]);
-                        LocalDateTime createdAt = LocalDateTime.parse(values[4], formatter);
-                        LocalDateTime updatedAt = LocalDateTime.parse(values[5], formatter);
-
-                        tasks.add(new Task(id, title, status, priority, createdAt, updatedAt));
-                        if (id > maxId) {
-                            maxId = id;
+                try {
+                    Task task = parseLine(line);
+                    if (task != null) {
+                        tasks.add(task);
+                        if (task.getId() > maxId) {
+                            maxId = task.getId();
                         }
-                    } catch (Exception e) {
-                        System.err.println("Помилка при парсингу рядка (буде проігнорована): " + line);
-                        // Продовжуємо, щоб не зупиняти завантаження через один некоректний рядок
                     }
+                } catch (Exception e) {
+                    System.err.println("Помилка при парсингу рядка (буде проігнорована): " + line);
+                    // Продовжуємо, щоб не зупиняти завантаження через один некоректний рядок
                 }
             }
             Task.setNextId(maxId);
-            System.out.println("Задачі успішно завантажено з файлу: " + FILE_PATH);
+            System.out.println("Задачі успішно завантажено з файлу: " + filePath);
         } catch (FileNotFoundException e) {
             System.err.println("Файл не знайдено: " + e.getMessage());
         }
         return tasks;
     }
+
+    // --- Формат CSV (спільний для файлу та імпорту/експорту через REST) ---
+
+    /**
+     * Записує заголовок і задачі у форматі файлу сховища. Writer буферизується тут,
+     * тож задачі потрапляють у потік порціями, без побудови всього CSV у пам'яті.
+     */
+    public static void writeCsv(Iterable<Task> tasks, Writer writer) throws IOException {
+        BufferedWriter out = new BufferedWriter(writer, 64 * 1024);
+        out.write(Task.getHeader());
+        out.newLine();
+        for (Task task : tasks) {
+            out.write(task.toString());
+            out.newLine();
+        }
+        out.flush();
+    }
+
+    /**
+     * Розбирає один рядок CSV у задачу.
+     * @return задачу або null, якщо рядок не є рядком даних (заголовок, порожній рядок, інша кількість колонок).
+     * @throws RuntimeException якщо значення колонок некоректні.
+     */
+    public static Task parseLine(String line) {
+        if (line.isBlank() || line.startsWith("id,")) {
+            return null;
+        }
+        String[] values = line.split("\\s*,\\s*");
+
+        // 6 колонок — старий формат без версії, 7 — з версією
+        if (values.length != 6 && values.length != 7) {
+            return null;
+        }
+        long id = Long.parseLong(values[0]);
+        String title = values[1];
+        TaskStatus status = TaskStatus.valueOf(values[2]);
+        TaskPriority priority = TaskPriority.valueOf(values[3]);
+        LocalDateTime createdAt = LocalDateTime.parse(values[4], formatter);
+        LocalDateTime updatedAt = LocalDateTime.parse(values[5], formatter);
+        long version = values.length == 7 ? Long.parseLong(values[6]) : 0;
+
+        return new Task(id, title, status, priority, createdAt, updatedAt, version);
+    }
 }
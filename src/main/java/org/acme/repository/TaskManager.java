@@ -4,7 +4,9 @@ import jakarta.enterprise.context.ApplicationScoped;
 import org.acme.domain.Task;
 import org.acme.domain.TaskPriority;
 import org.acme.domain.TaskRepository;
+import org.acme.domain.TaskStats;
 import org.acme.domain.TaskStatus;
+import org.acme.domain.TaskVersionConflictException;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -12,6 +14,8 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
 
 // 🌟 ЗМІНА 1: Використовуємо ApplicationScoped для CDI
@@ -19,120 +23,293 @@ import java.util.stream.Collectors;
 @ApplicationScoped
 public class TaskManager implements TaskRepository {
 
-    private final List<Task> tasks = Collections.synchronizedList(new ArrayList<>());
+    /**
+     * Увесь стан сховища: задачі, лічильники й індекси. Стан замінюється цілком одним присвоєнням
+     * (setInitialTasks), тож читачі без блокувань бачать або старий повний стан, або новий, і ніколи —
+     * порожній чи частково заповнений. Кожна операція один раз читає посилання і далі працює з ним.
+     */
+    private static final class Store {
+        // Задачі впорядковані за id (тобто за порядком створення); пошук за id — O(log N).
+        // Зміни конкретної задачі виконуються під її монітором, глобального замка немає.
+        final ConcurrentNavigableMap<Long, Task> tasks = new ConcurrentSkipListMap<>();
 
-    // Метод для ініціалізації кешу ззовні (викликається PersistenceManager)
-    // Це єдиний спосіб, яким дані потрапляють у Tasks
-    public void setInitialTasks(List<Task> initialTasks) {
-        this.tasks.clear();
-        this.tasks.addAll(initialTasks);
+        // Лічильники статус × пріоритет для GET /tasks/stats
+        final TaskCounters counters = new TaskCounters();
+
+        // Впорядковані індекси для запитів за діапазоном часу
+        final TaskTimeIndex createdAtIndex = new TaskTimeIndex();
+        final TaskTimeIndex updatedAtIndex = new TaskTimeIndex();
+
+        // Додає задачу до лічильників та індексів
+        void track(Task task) {
+            counters.add(task.getStatus(), task.getPriority());
+            createdAtIndex.add(task.createdAtEpochMillis(), task);
+            updatedAtIndex.add(task.updatedAtEpochMillis(), task);
+        }
+
+        // Прибирає задачу з лічильників та індексів
+        void untrack(Task task) {
+            counters.remove(task.getStatus(), task.getPriority());
+            createdAtIndex.remove(task.createdAtEpochMillis(), task);
+            updatedAtIndex.remove(task.updatedAtEpochMillis(), task);
+        }
+
+        // Задача ще належить сховищу (не видалена і не замінена паралельно)
+        boolean isCurrent(Task task) {
+            return tasks.get(task.getId()) == task;
+        }
+    }
+
+    private volatile Store store = new Store();
+
+    // Метод для ініціалізації кешу ззовні (викликається PersistenceManager і фоловером реплікації).
+    // Новий стан будується окремо і підміняє старий одним присвоєнням. Зміни, застосовані до старого
+    // стану під час побудови, втрачаються: на лідері метод викликається лише при старті, а на фоловері
+    // і знімок, і всі зміни застосовує один потік реплікації.
+    public synchronized void setInitialTasks(List<Task> initialTasks) {
+        Store next = new Store();
+        for (Task task : initialTasks) {
+            next.tasks.put(task.getId(), task);
+            next.track(task);
+        }
+        store = next;
     }
 
     // --- C (Create) ---
     @Override
     public Task addTask(String title, TaskPriority priority) {
+        Store s = store;
         if (title == null || title.trim().isEmpty()) {
             throw new IllegalArgumentException("Назва задачі не може бути порожньою.");
         }
         Task newTask = new Task(title, priority);
-        tasks.add(newTask);
+        synchronized (newTask) {
+            s.tasks.put(newTask.getId(), newTask);
+            s.track(newTask);
+        }
         return newTask;
     }
 
     // --- R (Read) ---
     @Override
     public List<Task> getAllTasks() {
+        Store s = store;
         // Повертаємо копію для безпеки потоків та уникнення зовнішньої модифікації
-        return Collections.unmodifiableList(new ArrayList<>(tasks));
+        return Collections.unmodifiableList(new ArrayList<>(s.tasks.values()));
     }
 
     @Override
     public Optional<Task> getTaskById(long id) {
-        return tasks.stream()
-                .filter(t -> t.getId() == id)
-                .findFirst();
+        Store s = store;
+        return Optional.ofNullable(s.tasks.get(id));
     }
 
     @Override
     public List<Task> findTasksByTitle(String title) {
+        Store s = store;
         if (title == null || title.trim().isEmpty()) {
             return Collections.emptyList();
         }
         final String searchTitle = title.toLowerCase();
-        return tasks.stream()
+        return s.tasks.values().stream()
                 .filter(task -> task.getTitle().toLowerCase().contains(searchTitle))
                 .collect(Collectors.toList());
     }
 
-    // --- U (Update) ---
+    // --- R (Time range) ---
     @Override
-    public Optional<Task> updateTask(long id, String newTitle, TaskStatus newStatus, TaskPriority newPriority) {
-        Optional<Task> taskOpt = getTaskById(id);
+    public List<Task> findTasksCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        Store s = store;
+        return s.createdAtIndex.range(
+                from == null ? Long.MIN_VALUE : Task.toEpochMillis(from),
+                to == null ? Long.MAX_VALUE : Task.toEpochMillis(to));
+    }
 
-        if (taskOpt.isPresent()) {
-            Task task = taskOpt.get();
-            boolean changed = false;
+    @Override
+    public List<Task> findTasksUpdatedSince(LocalDateTime since) {
+        Store s = store;
+        return s.updatedAtIndex.range(Task.toEpochMillis(since), Long.MAX_VALUE);
+    }
 
-            if (newTitle != null && !newTitle.isEmpty() && !newTitle.equals(task.getTitle())) {
-                task.setTitle(newTitle);
-                changed = true;
-            }
-            if (newStatus != null && newStatus != task.getStatus()) {
-                task.setStatus(newStatus);
-                changed = true;
+    // --- U (Update) ---
+    // Оновлення виконується під монітором конкретної задачі: конкуренти
+    // за різні задачі не блокують один одного, а перевірка версії та зміна
+    // полів для однієї задачі відбуваються атомарно.
+    // Якщо поки потік чекав на монітор, задачу замінив saveTask (імпорт, реплікація) або видалили,
+    // об'єкт перечитується за id: оновлюється нова копія, а відсутня задача дає порожній результат.
+    @Override
+    public Optional<Task> updateTask(long id, String newTitle, TaskStatus newStatus, TaskPriority newPriority, Long expectedVersion) {
+        Store s = store;
+        while (true) {
+            Task task = s.tasks.get(id);
+            if (task == null) {
+                return Optional.empty();
             }
-            if (newPriority != null && newPriority != task.getPriority()) {
-                task.setPriority(newPriority);
-                changed = true;
+
+            synchronized (task) {
+                if (!s.isCurrent(task)) {
+                    continue; // задачу замінили або видалили паралельно
+                }
+                if (expectedVersion != null && task.getVersion() != expectedVersion) {
+                    throw new TaskVersionConflictException(id, expectedVersion, task.getVersion());
+                }
+
+                boolean changed = false;
+                TaskStatus oldStatus = task.getStatus();
+                TaskPriority oldPriority = task.getPriority();
+                long oldUpdatedAt = task.updatedAtEpochMillis();
+
+                if (newTitle != null && !newTitle.isEmpty() && !newTitle.equals(task.getTitle())) {
+                    task.setTitle(newTitle);
+                    changed = true;
+                }
+                if (newStatus != null && newStatus != task.getStatus()) {
+                    task.setStatus(newStatus);
+                    changed = true;
+                }
+                if (newPriority != null && newPriority != task.getPriority()) {
+                    task.setPriority(newPriority);
+                    changed = true;
+                }
+
+                if (changed) {
+                    // setUpdatedAt вже викликається в сеттерах, але гарантуємо тут
+                    task.setUpdatedAt(LocalDateTime.now());
+                    task.incrementVersion();
+                    s.counters.move(oldStatus, oldPriority, task.getStatus(), task.getPriority());
+                    s.updatedAtIndex.update(oldUpdatedAt, task.updatedAtEpochMillis(), task);
+                }
+                return Optional.of(task);
             }
+        }
+    }
 
-            if (changed) {
-                // setUpdatedAt вже викликається в сеттерах, але гарантуємо тут
-                task.setUpdatedAt(LocalDateTime.now());
+    @Override
+    public void saveTask(Task task) {
+        Store s = store;
+        synchronized (task) {
+            while (true) {
+                Task existing = s.tasks.get(task.getId());
+                if (existing == null) {
+                    if (s.tasks.putIfAbsent(task.getId(), task) == null) {
+                        s.track(task);
+                        return;
+                    }
+                } else {
+                    synchronized (existing) {
+                        if (s.tasks.replace(task.getId(), existing, task)) {
+                            s.untrack(existing);
+                            s.track(task);
+                            return;
+                        }
+                    }
+                }
             }
-            return Optional.of(task);
         }
-        return Optional.empty();
     }
 
     @Override
     public boolean updateTaskStatus(long id, TaskStatus newStatus) {
-        Optional<Task> taskOpt = getTaskById(id);
-        if (taskOpt.isPresent()) {
-            taskOpt.get().setStatus(newStatus);
-            return true;
+        Store s = store;
+        while (true) {
+            Task task = s.tasks.get(id);
+            if (task == null) {
+                return false;
+            }
+            synchronized (task) {
+                if (!s.isCurrent(task)) {
+                    continue;
+                }
+                TaskStatus oldStatus = task.getStatus();
+                long oldUpdatedAt = task.updatedAtEpochMillis();
+                task.setStatus(newStatus);
+                task.incrementVersion();
+                s.counters.move(oldStatus, task.getPriority(), newStatus, task.getPriority());
+                s.updatedAtIndex.update(oldUpdatedAt, task.updatedAtEpochMillis(), task);
+                return true;
+            }
         }
-        return false;
     }
 
     @Override
     public boolean updateTaskPriority(long id, TaskPriority newPriority) {
-        Optional<Task> taskOpt = getTaskById(id);
-        if (taskOpt.isPresent()) {
-            taskOpt.get().setPriority(newPriority);
-            return true;
+        Store s = store;
+        while (true) {
+            Task task = s.tasks.get(id);
+            if (task == null) {
+                return false;
+            }
+            synchronized (task) {
+                if (!s.isCurrent(task)) {
+                    continue;
+                }
+                TaskPriority oldPriority = task.getPriority();
+                long oldUpdatedAt = task.updatedAtEpochMillis();
+                task.setPriority(newPriority);
+                task.incrementVersion();
+                s.counters.move(task.getStatus(), oldPriority, task.getStatus(), newPriority);
+                s.updatedAtIndex.update(oldUpdatedAt, task.updatedAtEpochMillis(), task);
+                return true;
+            }
         }
-        return false;
     }
 
     // --- D (Delete) ---
+    // Видаляється та копія задачі, що зараз у сховищі, навіть якщо її щойно замінив saveTask
     @Override
     public boolean removeTask(long id) {
-        // ВИПРАВЛЕНО: Використовуємо removeIf для видалення
-        return tasks.removeIf(t -> t.getId() == id);
+        Store s = store;
+        while (true) {
+            Task task = s.tasks.get(id);
+            if (task == null) {
+                return false;
+            }
+            synchronized (task) {
+                if (s.tasks.remove(id, task)) {
+                    s.untrack(task);
+                    return true;
+                }
+            }
+        }
+    }
+
+    // Видаляє лише ту копію, версію якої бачив викликач: замінена задача — це інша копія, її не чіпаємо
+    @Override
+    public boolean removeTaskIfVersion(long id, long expectedVersion) {
+        Store s = store;
+        Task task = s.tasks.get(id);
+        if (task == null) {
+            return false;
+        }
+        synchronized (task) {
+            if (task.getVersion() != expectedVersion || !s.tasks.remove(id, task)) {
+                return false;
+            }
+            s.untrack(task);
+        }
+        return true;
+    }
+
+    // --- Статистика ---
+    @Override
+    public TaskStats getStats() {
+        Store s = store;
+        return s.counters.snapshot();
     }
 
     // --- Фільтрація ---
     @Override
     public List<Task> filterTasksByStatus(TaskStatus status) {
-        return tasks.stream()
+        Store s = store;
+        return s.tasks.values().stream()
                 .filter(t -> t.getStatus() == status)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<Task> filterTasksByPriority(TaskPriority priority) {
-        return tasks.stream()
+        Store s = store;
+        return s.tasks.values().stream()
                 .filter(t -> t.getPriority() == priority)
                 .collect(Collectors.toList());
     }
@@ -140,21 +317,23 @@ public class TaskManager implements TaskRepository {
     // --- Сортування ---
     @Override
     public List<Task> sortTasksByCreatedAt() {
-        return tasks.stream()
-                .sorted(Comparator.comparing(Task::getCreatedAt))
-                .collect(Collectors.toList());
+        Store s = store;
+        // Індекс уже впорядкований за createdAt — сортування не потрібне
+        return s.createdAtIndex.range(Long.MIN_VALUE, Long.MAX_VALUE);
     }
 
     @Override
     public List<Task> sortTasksByPriority() {
-        return tasks.stream()
+        Store s = store;
+        return s.tasks.values().stream()
                 .sorted(Comparator.comparing(Task::getPriority).reversed())
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<Task> sortTasksByStatus() {
-        return tasks.stream()
+        Store s = store;
+        return s.tasks.values().stream()
                 .sorted(Comparator.comparing(Task::getStatus))
                 .collect(Collectors.toList());
     }
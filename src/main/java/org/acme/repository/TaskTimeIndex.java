@@ -0,0 +1,58 @@
+package org.acme.repository;
+
+import org.acme.domain.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Впорядкований індекс задач за часовою міткою (createdAt або updatedAt).
+ * Ключ — пара (мілісекунди, id), тож задачі з однаковим часом не перезаписують одна одну.
+ * Запит діапазону коштує O(log N + k).
+ *
+ * Індекс не стежить за задачами сам: репозиторій викликає update() щоразу,
+ * коли змінює відповідну мітку (наприклад, сеттери Task оновлюють updatedAt).
+ */
+final class TaskTimeIndex {
+
+    private record Key(long millis, long id) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int byTime = Long.compare(millis, other.millis);
+            return byTime != 0 ? byTime : Long.compare(id, other.id);
+        }
+    }
+
+    private final ConcurrentSkipListMap<Key, Task> index = new ConcurrentSkipListMap<>();
+
+    void add(long millis, Task task) {
+        index.put(new Key(millis, task.getId()), task);
+    }
+
+    void remove(long millis, Task task) {
+        index.remove(new Key(millis, task.getId()));
+    }
+
+    // Переносить задачу зі старої мітки на нову
+    void update(long oldMillis, long newMillis, Task task) {
+        if (oldMillis != newMillis) {
+            remove(oldMillis, task);
+            add(newMillis, task);
+        }
+    }
+
+    void clear() {
+        index.clear();
+    }
+
+    // Задачі з міткою в межах [fromMillis, toMillis] (включно), упорядковані за часом
+    List<Task> range(long fromMillis, long toMillis) {
+        if (fromMillis > toMillis) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(index.subMap(
+                new Key(fromMillis, Long.MIN_VALUE), true,
+                new Key(toMillis, Long.MAX_VALUE), true).values());
+    }
+}
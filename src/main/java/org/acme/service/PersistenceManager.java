@@ -6,11 +6,26 @@ import jakarta.inject.Inject;
 import org.acme.domain.Task;
 import org.acme.domain.TaskPriority;
 import org.acme.domain.TaskRepository;
+import org.acme.domain.TaskStats;
 import org.acme.domain.TaskStatus;
 import org.acme.repository.DataStoreHandler;
+import org.acme.repository.TaskArchive;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 @ApplicationScoped
@@ -24,6 +39,37 @@ public class PersistenceManager {
     @Inject
     TaskRepository taskRepository;
 
+    // Журнал змін для фоловерів реплікації (активний лише на лідері)
+    @Inject
+    ReplicationLog replicationLog;
+
+    // Холодний архів задач у кінцевих статусах
+    @Inject
+    TaskArchive taskArchive;
+
+    // Обмеження кількості записів, що одночасно виконуються або чекають на запис у сховище
+    @Inject
+    WriteAdmission writeAdmission;
+
+    // Порядковий номер останньої зміни та номер зміни, до якої включно сховище вже записане.
+    // Запис, чию зміну вже охопив saveAll іншого потоку, не переписує файл повторно (group commit).
+    private final AtomicLong changeSeq = new AtomicLong();
+    private final Object saveLock = new Object();
+    private long savedSeq; // під saveLock
+
+    // Створення задач (замок читання, паралельні одне з одним) і застосування частин імпорту (замок запису)
+    // не перетинаються: id, виданий створенню, або вже зсунутий за імпортовані, або потрапляє в createdDuringImport
+    private final ReadWriteLock importLock = new ReentrantReadWriteLock();
+    private int activeImports; // під замком запису importLock
+    // id задач, створених під час імпорту: рядки імпорту з такими id їх не перезаписують
+    private final Set<Long> createdDuringImport = ConcurrentHashMap.newKeySet();
+
+    // Повернення архівних задач у гаряче сховище виконується по одному
+    private final Object restoreLock = new Object();
+
+    // Статуси, з якими задачі переносяться в архів
+    public static final Set<TaskStatus> ARCHIVABLE_STATUSES = EnumSet.of(TaskStatus.DONE, TaskStatus.CANCELLED);
+
     /**
      * Порожній метод, оскільки ініціалізація перенесена в TaskInitializer.
      * Залишаємо його для коректної роботи CDI.
@@ -49,39 +95,268 @@ public class PersistenceManager {
      * @return Результат дії.
      */
     private <T> T executeAndSave(Supplier<T> action) {
-        T result = action.get();
-        // Після будь-якої модифікації зберігаємо весь кеш у файл
-        dataStoreHandler.saveAll(taskRepository.getAllTasks());
-        return result;
+        return writeAdmission.execute(() -> {
+            T result = action.get();
+            // Після будь-якої модифікації зберігаємо весь кеш у файл
+            persist();
+            return result;
+        });
+    }
+
+    /**
+     * Записує поточний стан репозиторію у сховище після зміни, яку щойно застосував викликач.
+     * Записи виконуються по одному; якщо поки потік чекав, інший потік уже записав стан,
+     * що містить його зміну, повторний saveAll пропускається.
+     */
+    private void persist() {
+        long mySeq = changeSeq.incrementAndGet();
+        synchronized (saveLock) {
+            if (savedSeq >= mySeq) {
+                return;
+            }
+            // Усі зміни з номером <= upTo вже застосовані до репозиторію і потраплять у знімок нижче
+            long upTo = changeSeq.get();
+            dataStoreHandler.saveAll(taskRepository.getAllTasks());
+            savedSeq = upTo;
+        }
     }
 
     // --- C (Create) ---
     public Task addTask(String title, TaskPriority priority) {
-        return executeAndSave(() -> taskRepository.addTask(title, priority));
+        Task task = executeAndSave(() -> createTask(title, priority));
+        replicationLog.recordChange(task.getId());
+        return task;
     }
 
-    // --- U (Update) ---
-    public Optional<Task> updateTask(long id, String newTitle, TaskStatus newStatus, TaskPriority newPriority) {
-        Optional<Task> result = taskRepository.updateTask(id, newTitle, newStatus, newPriority);
+    // Дані для пакетного створення задачі
+    public record NewTask(String title, TaskPriority priority) {
+    }
 
-        if (result.isPresent()) {
-            // Зберігаємо, лише якщо оновлення було успішним
-            dataStoreHandler.saveAll(taskRepository.getAllTasks());
+    // Пакетне створення: усі задачі додаються в репозиторій, а сховище записується один раз
+    public List<Task> addTasks(List<NewTask> newTasks) {
+        List<Task> created = executeAndSave(() -> newTasks.stream()
+                .map(t -> createTask(t.title(), t.priority()))
+                .toList());
+        for (Task task : created) {
+            replicationLog.recordChange(task.getId());
+        }
+        return created;
+    }
+
+    private Task createTask(String title, TaskPriority priority) {
+        importLock.readLock().lock();
+        try {
+            Task task = taskRepository.addTask(title, priority);
+            if (importInProgress()) {
+                createdDuringImport.add(task.getId());
+            }
+            return task;
+        } finally {
+            importLock.readLock().unlock();
+        }
+    }
+
+    // Читається під замком читання importLock, тож значення не змінюється до кінця створення
+    private boolean importInProgress() {
+        return activeImports > 0;
+    }
+
+    // Джерело імпорту: передає розібрані частини задач у sink у порядку, в якому їх треба застосувати
+    @FunctionalInterface
+    public interface ImportSource {
+        void forEachChunk(Consumer<List<Task>> sink) throws IOException;
+    }
+
+    // Підсумок імпорту: застосовані задачі та рядки, чий id уже зайняла задача, створена під час імпорту
+    public record ImportOutcome(long imported, long conflicts) {
+    }
+
+    /**
+     * Імпорт задач як upsert за id: кожна частина застосовується до репозиторію одразу,
+     * а сховище записується один раз наприкінці (навіть якщо джерело обірвалось посередині,
+     * щоб файл відповідав уже застосованим змінам).
+     * Перед кожною частиною лічильник id зсувається за її найбільший id, тож задачі, створені далі,
+     * не отримають уже імпортованих id. Задачу, створену під час імпорту з id, що трапиться в пізнішій
+     * частині, імпорт не перезаписує: такий рядок рахується як конфлікт.
+     */
+    public ImportOutcome importTasks(ImportSource source) throws IOException {
+        return writeAdmission.execute(() -> applyImport(source));
+    }
+
+    private ImportOutcome applyImport(ImportSource source) throws IOException {
+        long[] imported = {0};
+        long[] conflicts = {0};
+        setImportInProgress(true);
+        try {
+            source.forEachChunk(chunk -> {
+                importLock.writeLock().lock();
+                try {
+                    Task.setNextId(chunk.stream().mapToLong(Task::getId).max().orElse(0));
+                    for (Task task : chunk) {
+                        if (createdDuringImport.contains(task.getId())) {
+                            conflicts[0]++;
+                            continue;
+                        }
+                        taskRepository.saveTask(task);
+                        replicationLog.recordChange(task.getId());
+                        imported[0]++;
+                    }
+                } finally {
+                    importLock.writeLock().unlock();
+                }
+            });
+        } finally {
+            setImportInProgress(false);
+            if (imported[0] > 0) {
+                persist();
+            }
         }
-        return result;
+        return new ImportOutcome(imported[0], conflicts[0]);
+    }
+
+    // Коли завершується останній з паралельних імпортів, захищені id більше не потрібні
+    private void setImportInProgress(boolean started) {
+        importLock.writeLock().lock();
+        try {
+            activeImports += started ? 1 : -1;
+            if (activeImports == 0) {
+                createdDuringImport.clear();
+            }
+        } finally {
+            importLock.writeLock().unlock();
+        }
+    }
+
+    // --- Архівування ---
+
+    /**
+     * Переносить задачі зі статусом DONE/CANCELLED, не змінювані з updatedBefore, в архівні сегменти
+     * (не більше segmentSize задач на сегмент) і прибирає їх із гарячого сховища.
+     * Спершу сегмент записується на диск (з fsync), і лише потім задачі прибираються з гарячого сховища
+     * (compare-and-delete за версією): паралельний запис tasks.csv без них можливий лише тоді, коли
+     * вони вже є в архіві, тож збій у будь-який момент не втрачає задач. Поки задача є в обох місцях,
+     * гаряча копія затіняє архівну. Якщо задача змінилась або зникла під час перенесення, її щойно
+     * записану архівну копію ховає надгробок.
+     * @return кількість перенесених задач.
+     */
+    public int archiveTasks(LocalDateTime updatedBefore, int segmentSize) throws IOException {
+        List<Task> candidates = new ArrayList<>();
+        for (TaskStatus status : ARCHIVABLE_STATUSES) {
+            for (Task task : taskRepository.filterTasksByStatus(status)) {
+                if (task.getUpdatedAt().isBefore(updatedBefore)) {
+                    // Окрема копія: сегмент не повинен бачити паралельних змін оригіналу
+                    Task copy = task.copy();
+                    if (ARCHIVABLE_STATUSES.contains(copy.getStatus()) && copy.getUpdatedAt().isBefore(updatedBefore)) {
+                        candidates.add(copy);
+                    }
+                }
+            }
+        }
+        candidates.sort(Comparator.comparingLong(Task::getId));
+
+        int archived = 0;
+        try {
+            for (int from = 0; from < candidates.size(); from += segmentSize) {
+                List<Task> segment = candidates.subList(from, Math.min(from + segmentSize, candidates.size()));
+                // Помилка запису залишає задачі в гарячому сховищі без змін
+                taskArchive.writeSegment(segment);
+
+                List<Task> moved = new ArrayList<>();
+                for (Task copy : segment) {
+                    if (taskRepository.removeTaskIfVersion(copy.getId(), copy.getVersion())) {
+                        moved.add(copy);
+                    } else {
+                        // Архівна копія застаріла: без надгробка вона з'явилась би після видалення гарячої
+                        taskArchive.bury(copy.getId());
+                    }
+                }
+                for (Task task : moved) {
+                    replicationLog.recordChange(task.getId());
+                }
+                archived += moved.size();
+            }
+        } finally {
+            if (archived > 0) {
+                // Гарячий файл переписується без перенесених задач
+                persist();
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * Архівна задача, яку змінюють, спершу повертається в гаряче сховище (копією з архіву) і далі
+     * оновлюється як звичайна; її незмінна копія в сегменті залишається, але її затіняє гаряча.
+     */
+    private void restoreIfArchived(long id) {
+        if (taskRepository.getTaskById(id).isPresent()) {
+            return;
+        }
+        synchronized (restoreLock) {
+            if (taskRepository.getTaskById(id).isEmpty()) {
+                taskArchive.findById(id).ifPresent(archived -> {
+                    taskRepository.saveTask(archived.copy());
+                    replicationLog.recordChange(id);
+                });
+            }
+        }
+    }
+
+    // Архівні задачі, що відповідають фільтру (повний прохід сегментами; копії, затінені гарячими задачами, пропускаються)
+    public List<Task> findArchivedTasks(Predicate<Task> filter) {
+        return taskArchive.find(filter.and(t -> taskRepository.getTaskById(t.getId()).isEmpty()));
+    }
+
+    // --- U (Update) ---
+    // expectedVersion == null означає оновлення без перевірки версії
+    public Optional<Task> updateTask(long id, String newTitle, TaskStatus newStatus, TaskPriority newPriority, Long expectedVersion) {
+        return writeAdmission.execute(() -> {
+            restoreIfArchived(id);
+            Optional<Task> result = taskRepository.updateTask(id, newTitle, newStatus, newPriority, expectedVersion);
+
+            if (result.isPresent()) {
+                // Зберігаємо, лише якщо оновлення було успішним
+                persist();
+                replicationLog.recordChange(id);
+            }
+            return result;
+        });
     }
 
     public boolean updateTaskStatus(long id, TaskStatus newStatus) {
-        return executeAndSave(() -> taskRepository.updateTaskStatus(id, newStatus));
+        return recordIfChanged(id, executeAndSave(() -> {
+            restoreIfArchived(id);
+            return taskRepository.updateTaskStatus(id, newStatus);
+        }));
     }
 
     public boolean updateTaskPriority(long id, TaskPriority newPriority) {
-        return executeAndSave(() -> taskRepository.updateTaskPriority(id, newPriority));
+        return recordIfChanged(id, executeAndSave(() -> {
+            restoreIfArchived(id);
+            return taskRepository.updateTaskPriority(id, newPriority);
+        }));
     }
 
     // --- D (Delete) ---
+    // Видаляє і гарячу задачу, і її копії в архіві: інакше після видалення гарячої копії
+    // (наприклад, імпортованої поверх архівної) знову стала б видимою стара архівна.
     public boolean removeTask(long id) {
-        return executeAndSave(() -> taskRepository.removeTask(id));
+        return recordIfChanged(id, executeAndSave(() -> {
+            boolean removed = taskRepository.removeTask(id);
+            if (taskArchive.contains(id)) {
+                taskArchive.bury(id);
+                removed = true;
+            }
+            return removed;
+        }));
+    }
+
+    // Передає успішну зміну в журнал реплікації
+    private boolean recordIfChanged(long id, boolean changed) {
+        if (changed) {
+            replicationLog.recordChange(id);
+        }
+        return changed;
     }
 
     // --- R (Read - Делегування) ---
@@ -92,8 +367,9 @@ public class PersistenceManager {
         return taskRepository.getAllTasks();
     }
 
+    // Якщо задачі немає в гарячому сховищі, вона шукається в архіві
     public Optional<Task> getTaskById(long id) {
-        return taskRepository.getTaskById(id);
+        return taskRepository.getTaskById(id).or(() -> taskArchive.findById(id));
     }
 
     public List<Task> findTasksByTitle(String title) {
@@ -108,6 +384,23 @@ public class PersistenceManager {
         return taskRepository.filterTasksByPriority(priority);
     }
 
+    public List<Task> findTasksCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return taskRepository.findTasksCreatedBetween(from, to);
+    }
+
+    public List<Task> findTasksUpdatedSince(LocalDateTime since) {
+        return taskRepository.findTasksUpdatedSince(since);
+    }
+
+    public TaskStats getStats() {
+        return taskRepository.getStats();
+    }
+
+    // Статистика разом з архівними задачами (повний прохід сегментами)
+    public TaskStats getStatsWithArchived() {
+        return taskRepository.getStats().plus(findArchivedTasks(t -> true));
+    }
+
     public List<Task> sortTasksByCreatedAt() {
         return taskRepository.sortTasksByCreatedAt();
     }
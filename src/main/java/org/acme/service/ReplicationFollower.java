@@ -0,0 +1,216 @@
+package org.acme.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.domain.Task;
+import org.acme.domain.TaskRepository;
+import org.acme.service.ReplicationLog.LogBatch;
+import org.acme.service.ReplicationLog.MutationEntry;
+import org.acme.service.ReplicationLog.MutationType;
+import org.acme.service.ReplicationLog.Snapshot;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Фоловер реплікації: завантажує знімок сховища з лідера, а потім
+ * безперервно дочитує його журнал змін (long-poll) і застосовує зміни до TaskRepository.
+ * Фоловер обслуговує лише запити читання; модифікації перенаправляються на лідера.
+ */
+@ApplicationScoped
+public class ReplicationFollower {
+
+    // Пауза перед повторною спробою, якщо лідер недоступний
+    private static final long RETRY_DELAY_MS = 1000;
+
+    @ConfigProperty(name = "tasks.replication.role", defaultValue = "standalone")
+    String role;
+
+    @ConfigProperty(name = "tasks.replication.leader-url", defaultValue = "http://localhost:8080")
+    String leaderUrl;
+
+    @ConfigProperty(name = "tasks.replication.poll-wait-ms", defaultValue = "1000")
+    long pollWaitMillis;
+
+    @Inject
+    TaskRepository taskRepository;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    // Стан догону (читається ендпоінтом статусу з інших потоків)
+    private volatile long leaderEpoch = -1;
+    private volatile long appliedSeq = 0;
+    private volatile long leaderHeadSeq = 0;
+    private volatile long caughtUpAt = 0;
+    // Час останньої успішної відповіді лідера (знімок або журнал)
+    private volatile long lastContactAt = 0;
+
+    public boolean isFollower() {
+        return "follower".equalsIgnoreCase(role);
+    }
+
+    public String getLeaderUrl() {
+        return leaderUrl;
+    }
+
+    public long getAppliedSeq() {
+        return appliedSeq;
+    }
+
+    public long getLeaderHeadSeq() {
+        return leaderHeadSeq;
+    }
+
+    // Відставання у кількості записів журналу
+    public long getLagEntries() {
+        return Math.max(0, leaderHeadSeq - appliedSeq);
+    }
+
+    // Відставання в мілісекундах: скільки часу минуло відтоді, як лідер востаннє підтвердив,
+    // що фоловер має всі його записи. Для справного фоловера не перевищує приблизно poll-wait-ms
+    // (long-poll повертається щонайменше так часто); якщо лідер недоступний, значення зростає,
+    // хоча lagEntries лишається таким, яким був на момент останньої відповіді.
+    public long getLagMillis() {
+        if (caughtUpAt == 0) {
+            return -1; // ще жодного разу не синхронізувався
+        }
+        return System.currentTimeMillis() - caughtUpAt;
+    }
+
+    // Скільки мілісекунд минуло від останньої успішної відповіді лідера (-1, якщо відповіді ще не було)
+    public long getMillisSinceLastContact() {
+        if (lastContactAt == 0) {
+            return -1;
+        }
+        return System.currentTimeMillis() - lastContactAt;
+    }
+
+    /**
+     * Запускає фоновий потік реплікації. Викликається TaskInitializer при старті у ролі follower.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::replicationLoop, "task-replication-follower");
+        worker.setDaemon(true);
+        worker.start();
+        System.out.println(">>> ReplicationFollower: Реплікація з лідера " + leaderUrl + " запущена.");
+    }
+
+    @PreDestroy
+    synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    private void replicationLoop() {
+        boolean needSnapshot = true;
+        while (running) {
+            try {
+                if (needSnapshot) {
+                    loadSnapshot();
+                    needSnapshot = false;
+                }
+                needSnapshot = !pollLog();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                System.err.println("ReplicationFollower: Помилка реплікації (повтор через "
+                        + RETRY_DELAY_MS + " мс): " + e.getMessage());
+                try {
+                    Thread.sleep(RETRY_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Повне перезавантаження стану зі знімка лідера
+    private void loadSnapshot() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = get("/replication/snapshot");
+        if (response.statusCode() != 200) {
+            throw new IOException("лідер повернув " + response.statusCode() + " на запит знімка");
+        }
+        Snapshot snapshot = objectMapper.readValue(response.body(), Snapshot.class);
+
+        List<Task> tasks = snapshot.tasks().stream()
+                .map(ReplicationLog.TaskSnapshot::toTask)
+                .toList();
+        taskRepository.setInitialTasks(tasks);
+
+        leaderEpoch = snapshot.epoch();
+        appliedSeq = snapshot.seq();
+        leaderHeadSeq = snapshot.seq();
+        lastContactAt = System.currentTimeMillis();
+        caughtUpAt = lastContactAt;
+        System.out.println("ReplicationFollower: Завантажено знімок із " + tasks.size()
+                + " задач (seq " + snapshot.seq() + ").");
+    }
+
+    /**
+     * Дочитує журнал лідера після appliedSeq.
+     * @return false, якщо потрібен новий знімок (журнал витіснено або лідер перезапустився).
+     */
+    private boolean pollLog() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = get("/replication/log?from=" + appliedSeq + "&waitMs=" + pollWaitMillis);
+        if (response.statusCode() == 410) {
+            lastContactAt = System.currentTimeMillis();
+            return false;
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("лідер повернув " + response.statusCode() + " на запит журналу");
+        }
+        LogBatch batch = objectMapper.readValue(response.body(), LogBatch.class);
+        lastContactAt = System.currentTimeMillis();
+        if (batch.epoch() != leaderEpoch) {
+            return false;
+        }
+
+        for (MutationEntry entry : batch.entries()) {
+            if (entry.type() == MutationType.DELETE) {
+                taskRepository.removeTask(entry.taskId());
+            } else {
+                taskRepository.saveTask(entry.task().toTask());
+            }
+            appliedSeq = entry.seq();
+        }
+
+        leaderHeadSeq = batch.headSeq();
+        if (appliedSeq >= leaderHeadSeq) {
+            caughtUpAt = lastContactAt;
+        }
+        return true;
+    }
+
+    private HttpResponse<byte[]> get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(leaderUrl + path))
+                .timeout(Duration.ofMillis(pollWaitMillis + 10_000))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
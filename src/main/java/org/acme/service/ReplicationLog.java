@@ -0,0 +1,145 @@
+package org.acme.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.domain.Task;
+import org.acme.domain.TaskPriority;
+import org.acme.domain.TaskRepository;
+import org.acme.domain.TaskStatus;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Журнал змін лідера реплікації.
+ * Кожна успішна модифікація отримує порядковий номер (seq); фоловери спочатку
+ * завантажують знімок (snapshot) зі стану на певний seq, а далі дочитують журнал.
+ *
+ * Записи журналу зберігають не саму операцію, а стан задачі на момент додавання запису.
+ * Тому повторне застосування запису безпечне, а останній запис для id завжди
+ * відображає актуальний стан задачі.
+ */
+@ApplicationScoped
+public class ReplicationLog {
+
+    public enum MutationType {
+        UPSERT,
+        DELETE
+    }
+
+    // Незмінна копія задачі для передачі фоловерам
+    public record TaskSnapshot(long id, String title, TaskStatus status, TaskPriority priority,
+                               LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
+
+        static TaskSnapshot of(Task task) {
+            synchronized (task) {
+                return new TaskSnapshot(task.getId(), task.getTitle(), task.getStatus(), task.getPriority(),
+                        task.getCreatedAt(), task.getUpdatedAt(), task.getVersion());
+            }
+        }
+
+        public Task toTask() {
+            return new Task(id, title, status, priority, createdAt, updatedAt, version);
+        }
+    }
+
+    // Один запис журналу; task == null для DELETE
+    public record MutationEntry(long seq, long timestamp, MutationType type, long taskId, TaskSnapshot task) {
+    }
+
+    // Відповідь на запит журналу: записи після запитаного seq та поточна "голова" журналу.
+    // epoch змінюється при кожному перезапуску лідера (нумерація seq починається заново).
+    public record LogBatch(long epoch, long headSeq, List<MutationEntry> entries) {
+    }
+
+    // Повний знімок сховища, узгоджений із номером seq
+    public record Snapshot(long epoch, long seq, List<TaskSnapshot> tasks) {
+    }
+
+    @ConfigProperty(name = "tasks.replication.role", defaultValue = "standalone")
+    String role;
+
+    @ConfigProperty(name = "tasks.replication.log-capacity", defaultValue = "100000")
+    int capacity;
+
+    @Inject
+    TaskRepository taskRepository;
+
+    // Максимальна кількість записів в одній відповіді фоловеру
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    // Кільцевий буфер останніх записів: запис із номером seq лежить у комірці seq % capacity
+    private MutationEntry[] ring;
+    private long headSeq = 0;
+    private final long epoch = System.currentTimeMillis();
+
+    // Журнал ведеться лише на лідері, щоб не витрачати пам'ять в автономному режимі
+    public boolean isEnabled() {
+        return "leader".equalsIgnoreCase(role);
+    }
+
+    /**
+     * Фіксує зміну задачі з вказаним id. Поточний стан задачі читається з репозиторію
+     * під замком журналу, тому порядок записів відповідає порядку станів.
+     */
+    public void recordChange(long taskId) {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (this) {
+            Optional<Task> task = taskRepository.getTaskById(taskId);
+            MutationEntry entry = new MutationEntry(
+                    ++headSeq,
+                    System.currentTimeMillis(),
+                    task.isPresent() ? MutationType.UPSERT : MutationType.DELETE,
+                    taskId,
+                    task.map(TaskSnapshot::of).orElse(null));
+
+            if (ring == null) {
+                ring = new MutationEntry[capacity];
+            }
+            ring[(int) (entry.seq() % capacity)] = entry;
+            notifyAll();
+        }
+    }
+
+    public synchronized long getHeadSeq() {
+        return headSeq;
+    }
+
+    public synchronized Snapshot snapshot() {
+        List<TaskSnapshot> tasks = taskRepository.getAllTasks().stream()
+                .map(TaskSnapshot::of)
+                .toList();
+        return new Snapshot(epoch, headSeq, tasks);
+    }
+
+    /**
+     * Повертає записи з seq > fromSeq. Якщо нових записів немає, чекає до waitMillis мс (long-poll).
+     * @return Optional.empty(), якщо потрібні записи вже витіснені з журналу (або fromSeq
+     *         належить до попереднього запуску лідера) і фоловер має завантажити новий знімок.
+     */
+    public synchronized Optional<LogBatch> entriesAfter(long fromSeq, long waitMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + waitMillis;
+        long remaining = waitMillis;
+        while (headSeq <= fromSeq && remaining > 0) {
+            wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+
+        long oldestSeq = Math.max(1, headSeq - capacity + 1);
+        if (fromSeq + 1 < oldestSeq || fromSeq > headSeq) {
+            return Optional.empty();
+        }
+
+        List<MutationEntry> result = new ArrayList<>();
+        long lastSeq = Math.min(headSeq, fromSeq + MAX_BATCH_SIZE);
+        for (long seq = fromSeq + 1; seq <= lastSeq; seq++) {
+            result.add(ring[(int) (seq % capacity)]);
+        }
+        return Optional.of(new LogBatch(epoch, headSeq, result));
+    }
+}
@@ -0,0 +1,90 @@
+package org.acme.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.repository.TaskArchive;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Політика багаторівневого зберігання: періодично переносить задачі DONE/CANCELLED,
+ * які не змінювались довше за tasks.archive.after-days, з гарячого сховища в архівні сегменти.
+ * Періодичний запуск вмикається властивістю tasks.archive.interval-minutes > 0.
+ * Працює на лідері (або standalone); фоловер обслуговує лише гаряче сховище лідера.
+ */
+@ApplicationScoped
+public class TaskArchiver {
+
+    @ConfigProperty(name = "tasks.archive.after-days", defaultValue = "30")
+    long afterDays;
+
+    // 0 — періодичне архівування вимкнено (за замовчуванням: архівування вмикається явно)
+    @ConfigProperty(name = "tasks.archive.interval-minutes", defaultValue = "0")
+    long intervalMinutes;
+
+    @ConfigProperty(name = "tasks.archive.segment-size", defaultValue = "100000")
+    int segmentSize;
+
+    @Inject
+    TaskArchive taskArchive;
+
+    @Inject
+    PersistenceManager persistenceManager;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Завантажує індекс архіву і запускає періодичне архівування. Викликається TaskInitializer при старті.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        taskArchive.loadIndex();
+        if (intervalMinutes <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "task-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::archiveSafely, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        System.out.println(">>> TaskArchiver: Архівування задач старших за " + afterDays
+                + " дн. запускається кожні " + intervalMinutes + " хв.");
+    }
+
+    @PreDestroy
+    synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    // Один прохід політики; повертає кількість перенесених задач
+    public int archiveNow() throws IOException {
+        return persistenceManager.archiveTasks(LocalDateTime.now().minusDays(afterDays), segmentSize);
+    }
+
+    public boolean hasArchivedTasks() {
+        return taskArchive.size() > 0;
+    }
+
+    // Помилка одного проходу не повинна зупиняти розклад
+    private void archiveSafely() {
+        try {
+            int archived = archiveNow();
+            if (archived > 0) {
+                System.out.println("TaskArchiver: Перенесено в архів " + archived + " задач.");
+            }
+        } catch (Exception e) {
+            System.err.println("TaskArchiver: Помилка архівування: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.acme.service;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.domain.Task;
+import org.acme.repository.TaskFileHandler;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Потоковий імпорт задач із CSV у форматі TaskFileHandler.
+ * Рядки читаються частинами по CHUNK_SIZE і розбираються паралельно; одночасно в обробці
+ * не більше MAX_CHUNKS_IN_FLIGHT частин, тож пам'ять під розбір обмежена незалежно від розміру файлу.
+ * Частини застосовуються до репозиторію в порядку файлу (для повторюваних id перемагає останній рядок),
+ * а сховище записується один раз після імпорту.
+ */
+@ApplicationScoped
+public class TaskCsvImporter {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final int MAX_CHUNKS_IN_FLIGHT = Runtime.getRuntime().availableProcessors() + 1;
+
+    @Inject
+    PersistenceManager persistenceManager;
+
+    // Підсумок імпорту: скільки задач застосовано, скільки рядків пропущено як некоректні
+    // і скільки не застосовано, бо їхній id зайняла задача, створена під час імпорту
+    public record ImportResult(long imported, long skipped, long conflicts) {
+    }
+
+    // Розібрана частина файлу
+    private record ParsedChunk(List<Task> tasks, int skipped) {
+    }
+
+    public ImportResult importCsv(InputStream in) throws IOException {
+        AtomicLong skipped = new AtomicLong();
+        PersistenceManager.ImportOutcome outcome = persistenceManager.importTasks(sink -> {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+            Deque<CompletableFuture<ParsedChunk>> inFlight = new ArrayDeque<>();
+            List<String> lines = new ArrayList<>(CHUNK_SIZE);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                if (lines.size() == CHUNK_SIZE) {
+                    submit(inFlight, lines);
+                    lines = new ArrayList<>(CHUNK_SIZE);
+                    // Не читаємо далі, поки найстаріша частина не застосована
+                    if (inFlight.size() >= MAX_CHUNKS_IN_FLIGHT) {
+                        apply(inFlight.poll(), sink, skipped);
+                    }
+                }
+            }
+            if (!lines.isEmpty()) {
+                submit(inFlight, lines);
+            }
+            while (!inFlight.isEmpty()) {
+                apply(inFlight.poll(), sink, skipped);
+            }
+        });
+        return new ImportResult(outcome.imported(), skipped.get(), outcome.conflicts());
+    }
+
+    private static void submit(Deque<CompletableFuture<ParsedChunk>> inFlight, List<String> lines) {
+        inFlight.add(CompletableFuture.supplyAsync(() -> parse(lines)));
+    }
+
+    private static void apply(CompletableFuture<ParsedChunk> future, Consumer<List<Task>> sink, AtomicLong skipped) {
+        ParsedChunk chunk;
+        try {
+            chunk = future.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Помилка розбору CSV: " + e.getCause().getMessage(), e.getCause());
+        }
+        skipped.addAndGet(chunk.skipped());
+        sink.accept(chunk.tasks());
+    }
+
+    private static ParsedChunk parse(List<String> lines) {
+        List<Task> tasks = new ArrayList<>(lines.size());
+        int skipped = 0;
+        for (String line : lines) {
+            if (line.isBlank() || line.startsWith("id,")) {
+                continue; // заголовок і порожні рядки не рахуються як помилки
+            }
+            try {
+                Task task = TaskFileHandler.parseLine(line);
+                if (task != null) {
+                    tasks.add(task);
+                } else {
+                    skipped++;
+                }
+            } catch (Exception e) {
+                skipped++;
+            }
+        }
+        return new ParsedChunk(tasks, skipped);
+    }
+}
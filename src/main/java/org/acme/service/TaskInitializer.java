@@ -9,7 +9,6 @@ import org.acme.domain.TaskPriority;
 import org.acme.domain.TaskRepository;
 import org.acme.domain.TaskStatus;
 import org.acme.repository.DataStoreHandler;
-import org.acme.repository.TaskManager;
 
 import java.util.List;
 
@@ -32,6 +31,14 @@ public class TaskInitializer {
     @Inject
     PersistenceManager persistenceManager;
 
+    // Фоловер реплікації отримує дані від лідера замість локального файлу
+    @Inject
+    ReplicationFollower replicationFollower;
+
+    // Архівування задач у кінцевих статусах (на лідері або standalone)
+    @Inject
+    TaskArchiver taskArchiver;
+
     /**
      * Метод, який викликається автоматично після завершення запуску Quarkus.
      */
@@ -39,10 +46,20 @@ public class TaskInitializer {
 
         System.out.println(">>> TaskInitializer: Запуск ініціалізації даних...");
 
+        if (replicationFollower.isFollower()) {
+            // Фоловер не читає локальний файл і не генерує тестових даних:
+            // стан повністю завантажується зі знімка та журналу лідера.
+            replicationFollower.start();
+            return;
+        }
+
+        // Індекс архіву читається до генерації тестових даних, щоб нові id не збіглися з архівними
+        taskArchiver.start();
+
         // 1. Завантажуємо дані з файлу
         List<Task> initialTasks = dataStoreHandler.loadAll();
 
-        if (initialTasks.isEmpty()) {
+        if (initialTasks.isEmpty() && !taskArchiver.hasArchivedTasks()) {
 
             System.out.println(">>> TaskInitializer: Сховище порожнє. Генеруємо тестові дані.");
 
@@ -64,8 +81,8 @@ public class TaskInitializer {
 
             System.out.println(">>> TaskInitializer: Тестові дані успішно створено та збережено.");
         } else {
-            // 4. Якщо дані є, передаємо їх у TaskManager для ініціалізації кешу.
-            ((TaskManager)taskRepository).setInitialTasks(initialTasks);
+            // 4. Якщо дані є, передаємо їх у репозиторій (TaskManager або шардований) для ініціалізації кешу.
+            taskRepository.setInitialTasks(initialTasks);
             System.out.println(">>> TaskInitializer: Завантажено " + initialTasks.size() + " задач із файлу.");
         }
     }
@@ -0,0 +1,99 @@
+package org.acme.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Контроль допуску записів: не більше max-in-flight модифікацій одночасно (разом з очікуванням запису у сховище).
+ * Якщо вільного місця немає довше за acquire-timeout-ms, запит одразу відхиляється WriteRejectedException
+ * (503 з Retry-After), замість того щоб ставати в необмежену чергу за повільним диском.
+ */
+@ApplicationScoped
+public class WriteAdmission {
+
+    // 0 — контроль допуску вимкнено
+    @ConfigProperty(name = "tasks.admission.max-in-flight", defaultValue = "64")
+    int maxInFlight;
+
+    @ConfigProperty(name = "tasks.admission.acquire-timeout-ms", defaultValue = "0")
+    long acquireTimeoutMillis;
+
+    @ConfigProperty(name = "tasks.admission.retry-after-seconds", defaultValue = "1")
+    int retryAfterSeconds;
+
+    private Semaphore permits;
+
+    // Метрики для /admission/status
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Дія запису, яка може кинути перевірений виняток (наприклад, IOException імпорту)
+    @FunctionalInterface
+    public interface WriteAction<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    @PostConstruct
+    void init() {
+        permits = maxInFlight > 0 ? new Semaphore(maxInFlight) : null;
+    }
+
+    /**
+     * Виконує запис, якщо для нього є місце.
+     * @throws WriteRejectedException якщо ліміт записів у роботі вичерпано.
+     */
+    public <T, E extends Exception> T execute(WriteAction<T, E> write) throws E {
+        if (!tryAcquire()) {
+            shed.increment();
+            throw new WriteRejectedException(inFlight.get(), retryAfterSeconds);
+        }
+        admitted.increment();
+        inFlight.incrementAndGet();
+        try {
+            return write.run();
+        } finally {
+            inFlight.decrementAndGet();
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    private boolean tryAcquire() {
+        if (permits == null) {
+            return true;
+        }
+        if (acquireTimeoutMillis <= 0) {
+            return permits.tryAcquire();
+        }
+        try {
+            return permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAdmitted() {
+        return admitted.sum();
+    }
+
+    public long getShed() {
+        return shed.sum();
+    }
+}
@@ -0,0 +1,20 @@
+package org.acme.service;
+
+/**
+ * Запис відхилено контролем допуску: у роботі вже максимальна кількість записів,
+ * а персистентність не встигає їх обробляти. Клієнт може повторити запит через retryAfterSeconds.
+ */
+public class WriteRejectedException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public WriteRejectedException(int inFlight, int retryAfterSeconds) {
+        super("Сервер перевантажений записами (у роботі: " + inFlight + "). Повторіть запит через "
+                + retryAfterSeconds + " с.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
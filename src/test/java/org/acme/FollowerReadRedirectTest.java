@@ -0,0 +1,104 @@
+package org.acme;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+
+/**
+ * Фоловер без власного архіву перенаправляє на лідера читання, відповідь на які може бути лише там,
+ * і записи (зокрема імпорт, який обслуговує окремий маршрут).
+ * Лідер у тесті недоступний, тож сховище фоловера лишається порожнім.
+ */
+@QuarkusTest
+@TestProfile(FollowerReadRedirectTest.Follower.class)
+class FollowerReadRedirectTest {
+
+    private static final String LEADER_URL = "http://localhost:1";
+
+    public static class Follower implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            try {
+                Path dir = Files.createTempDirectory("task-follower-test");
+                return Map.of(
+                        "tasks.replication.role", "follower",
+                        "tasks.replication.leader-url", LEADER_URL,
+                        "tasks.file.path", dir.resolve("tasks.csv").toString(),
+                        "tasks.archive.dir", dir.resolve("archive").toString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Test
+    void missingTaskIsReadFromLeader() {
+        given()
+          .redirects().follow(false)
+          .when().get("/tasks/900401")
+          .then()
+             .statusCode(307)
+             .header("Location", is(LEADER_URL + "/tasks/900401"));
+    }
+
+    @Test
+    void archiveQueriesAreReadFromLeader() {
+        given()
+          .redirects().follow(false)
+          .when().get("/tasks?status=DONE&includeArchived=true")
+          .then()
+             .statusCode(307)
+             .header("Location", is(LEADER_URL + "/tasks?status=DONE&includeArchived=true"));
+
+        given()
+          .redirects().follow(false)
+          .when().get("/tasks/search?title=report&includeArchived=true")
+          .then()
+             .statusCode(307)
+             .header("Location", is(LEADER_URL + "/tasks/search?title=report&includeArchived=true"));
+
+        given()
+          .redirects().follow(false)
+          .when().get("/tasks/stats?includeArchived=true")
+          .then()
+             .statusCode(307)
+             .header("Location", is(LEADER_URL + "/tasks/stats?includeArchived=true"));
+    }
+
+    @Test
+    void importIsSentToLeader() {
+        given()
+          .redirects().follow(false)
+          .contentType("text/csv")
+          .body("900402,Import,NEW,LOW,01.02.2025 10:00:00,01.02.2025 10:00:00,1\n")
+          .when().post("/tasks/import")
+          .then()
+             .statusCode(307)
+             .header("Location", is(LEADER_URL + "/tasks/import"));
+    }
+
+    @Test
+    void hotReadsAreServedLocally() {
+        given()
+          .redirects().follow(false)
+          .when().get("/tasks?status=DONE")
+          .then()
+             .statusCode(200);
+
+        given()
+          .redirects().follow(false)
+          .when().get("/tasks/stats")
+          .then()
+             .statusCode(200);
+    }
+}
@@ -0,0 +1,367 @@
+package org.acme;
+
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.acme.domain.Task;
+import org.acme.domain.TaskPriority;
+import org.acme.domain.TaskRepository;
+import org.acme.domain.TaskStatus;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Навантажувальний тест TaskResource: запускає застосунок, заповнює сховище
+ * заданою кількістю задач і ганяє суміш запитів від багатьох паралельних клієнтів,
+ * виводячи пропускну здатність та затримки p50/p99/p999 (HdrHistogram).
+ *
+ * За замовчуванням не запускається (тег "load"); запуск перед релізом:
+ *
+ *   ./mvnw test -Pload-test -Dload.tasks=10000,100000,1000000 -Dload.clients=32 -Dload.duration=30
+ *
+ * Параметри (системні властивості):
+ *   load.tasks    — розміри сховища через кому (10000,100000,1000000)
+ *   load.clients  — кількість паралельних клієнтів (32)
+ *   load.duration — тривалість вимірювання для кожного розміру, с (30)
+ *   load.warmup   — тривалість прогріву, с (5)
+ *   load.mix      — ваги операцій (get=50,filter=10,search=10,sort=5,create=10,update=15)
+ *   load.seed     — зерно генератора, щоб послідовність запитів відтворювалась (42)
+ *   load.rate     — цільова пропускна здатність усіх клієнтів разом, запитів/с (0 — без розкладу)
+ *
+ * Затримки виправлені на coordinated omission. З load.rate > 0 кожен клієнт відправляє запити
+ * за фіксованим розкладом, а затримка рахується від запланованого моменту: час, який запит чекав
+ * за повільною попередньою відповіддю, теж потрапляє в гістограму. Без розкладу (замкнений цикл)
+ * затримки записуються через recordValueWithExpectedInterval з очікуваним інтервалом, рівним
+ * медіані прогріву, тож HdrHistogram додає пропущені через повільну відповідь вимірювання.
+ *
+ * Тест працює з власним порожнім файлом сховища й архівом (IsolatedStore), тож результати
+ * не залежать від того, що залишили в target/ інші тести; після тесту каталог видаляється.
+ * Будь-яка відповідь 4xx означає помилку в самому тесті (наприклад, запит до неіснуючого id) і валить його.
+ */
+@QuarkusTest
+@TestProfile(TaskResourceLoadTest.IsolatedStore.class)
+@Tag("load")
+class TaskResourceLoadTest {
+
+    private static final String STORE_DIR_PREFIX = "task-load-test";
+
+    // Окремий тимчасовий файл задач і каталог архіву на кожен запуск.
+    // Quarkus викликає getConfigOverrides кілька разів, тому каталог один на JVM (за pid), а не новий на кожен виклик.
+    public static class IsolatedStore implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            try {
+                Path dir = Files.createDirectories(Path.of(System.getProperty("java.io.tmpdir"),
+                        STORE_DIR_PREFIX + "-" + ProcessHandle.current().pid()));
+                return Map.of(
+                        "tasks.file.path", dir.resolve("tasks.csv").toString(),
+                        "tasks.archive.dir", dir.resolve("archive").toString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Діапазон id задач, створених seed() (включно)
+    record IdRange(long first, long last) {
+        long pick(Random random) {
+            return first + (long) (random.nextDouble() * (last - first + 1));
+        }
+    }
+
+    enum Operation {
+        GET,      // GET /tasks/{id}
+        FILTER,   // GET /tasks?status=..&priority=.. (без status — за priority)
+        SEARCH,   // GET /tasks/search?title=..
+        SORT,     // GET /tasks/sort?by=..
+        CREATE,   // POST /tasks
+        UPDATE    // PUT /tasks/{id}
+    }
+
+    // Затримки в мікросекундах, до 60 с з точністю 3 значущі цифри
+    private static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    @TestHTTPResource("/tasks")
+    URI tasksUri;
+
+    @Inject
+    TaskRepository taskRepository;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    // Каталог сховища береться з конфігурації застосунку: профіль і тест можуть жити в різних завантажувачах класів
+    @AfterAll
+    static void deleteStore() throws IOException {
+        Path dir = Path.of(ConfigProvider.getConfig().getValue("tasks.file.path", String.class)).getParent();
+        if (dir == null || !dir.getFileName().toString().startsWith(STORE_DIR_PREFIX)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Test
+    void runLoad() throws Exception {
+        int clients = Integer.getInteger("load.clients", 32);
+        int durationSeconds = Integer.getInteger("load.duration", 30);
+        int warmupSeconds = Integer.getInteger("load.warmup", 5);
+        long seed = Long.getLong("load.seed", 42);
+        int rate = Integer.getInteger("load.rate", 0);
+        Map<Operation, Integer> mix = parseMix(System.getProperty("load.mix",
+                "get=50,filter=10,search=10,sort=5,create=10,update=15"));
+
+        for (String size : System.getProperty("load.tasks", "10000,100000,1000000").split(",")) {
+            int taskCount = Integer.parseInt(size.trim());
+            IdRange ids = seed(taskCount);
+
+            System.out.printf("%n=== %,d задач, %d клієнтів, %d с (прогрів %d с), %s, суміш %s ===%n",
+                    taskCount, clients, durationSeconds, warmupSeconds,
+                    rate > 0 ? rate + " запитів/с" : "без розкладу", mix);
+
+            // Прогрів, затримки відкидаються; його медіана — очікуваний інтервал для замкненого циклу
+            Result warmup = run(clients, warmupSeconds, mix, seed, ids, rate, 0);
+            warmup.assertNoClientErrors();
+            long expectedIntervalMicros = rate > 0 ? 0 : warmup.total.getValueAtPercentile(50);
+            Result result = run(clients, durationSeconds, mix, seed, ids, rate, expectedIntervalMicros);
+            result.print(durationSeconds);
+
+            assertTrue(result.total.getTotalCount() > 0, "Жоден запит не завершився успішно");
+            result.assertNoClientErrors();
+        }
+    }
+
+    // Заповнює сховище напряму через репозиторій (без HTTP і без запису файлу) і повертає діапазон id
+    private IdRange seed(int taskCount) {
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task("Задача навантаження " + i, priorities[i % priorities.length]);
+            if (i % statuses.length != 0) {
+                task.setStatus(statuses[i % statuses.length]);
+            }
+            tasks.add(task);
+        }
+        taskRepository.setInitialTasks(tasks);
+        return new IdRange(tasks.get(0).getId(), tasks.get(tasks.size() - 1).getId());
+    }
+
+    // rate > 0 — фіксований розклад (затримка від запланованого моменту);
+    // expectedIntervalMicros > 0 — корекція замкненого циклу через recordValueWithExpectedInterval
+    private Result run(int clients, int seconds, Map<Operation, Integer> mix, long seed, IdRange ids,
+                       int rate, long expectedIntervalMicros) throws InterruptedException {
+        Result result = new Result(expectedIntervalMicros);
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        long intervalNanos = rate > 0 ? TimeUnit.SECONDS.toNanos(clients) / rate : 0;
+
+        for (int c = 0; c < clients; c++) {
+            Random random = new Random(seed + c);
+            pool.execute(() -> {
+                long scheduledAt = System.nanoTime();
+                while (running.get()) {
+                    Operation operation = pick(mix, random);
+                    long startedAt;
+                    if (intervalNanos > 0) {
+                        long wait = scheduledAt - System.nanoTime();
+                        if (wait > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                        startedAt = scheduledAt;
+                        scheduledAt += intervalNanos;
+                    } else {
+                        startedAt = System.nanoTime();
+                    }
+                    int status;
+                    try {
+                        status = httpClient.send(request(operation, random, ids),
+                                HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        result.errors.incrementAndGet();
+                        continue;
+                    }
+                    long micros = (System.nanoTime() - startedAt) / 1000;
+                    result.record(operation, status, Math.min(micros, MAX_LATENCY_MICROS));
+                }
+            });
+        }
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        running.set(false);
+        pool.shutdown();
+        pool.awaitTermination(2, TimeUnit.MINUTES);
+        return result;
+    }
+
+    private HttpRequest request(Operation operation, Random random, IdRange ids) {
+        long id = ids.pick(random);
+        TaskStatus status = TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+        TaskPriority priority = TaskPriority.values()[random.nextInt(TaskPriority.values().length)];
+
+        return switch (operation) {
+            case GET -> get("/" + id);
+            case FILTER -> get(random.nextBoolean() ? "?status=" + status : "?priority=" + priority);
+            case SEARCH -> get("/search?title=" + (random.nextInt(1000) + 1000));
+            case SORT -> get("/sort?by=" + (random.nextBoolean() ? "priority" : "createdat"));
+            case CREATE -> json(HttpRequest.newBuilder(tasksUri),
+                    "{\"title\":\"Нова задача\",\"priority\":\"" + priority + "\"}", "POST");
+            case UPDATE -> json(HttpRequest.newBuilder(URI.create(tasksUri + "/" + id)),
+                    "{\"status\":\"" + status + "\"}", "PUT");
+        };
+    }
+
+    private HttpRequest get(String suffix) {
+        return HttpRequest.newBuilder(URI.create(tasksUri + suffix))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest json(HttpRequest.Builder builder, String body, String method) {
+        return builder.timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static Operation pick(Map<Operation, Integer> mix, Random random) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Порожня суміш операцій");
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.split("=");
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.valueOf(kv[0].trim().toUpperCase()), weight);
+            }
+        }
+        return mix;
+    }
+
+    // Гістограми затримок за типом операції та загальна.
+    // Затримки записуються для всіх відповідей, крім 503 (запис відхилено контролем допуску — рахується окремо);
+    // кількість відповідей рахується за операцією й кодом статусу.
+    // Корекція замкненого циклу додає в гістограми синтетичні значення, тож пропускна здатність
+    // рахується за окремими лічильниками фактичних відповідей.
+    private static final class Result {
+        final Map<Operation, Histogram> byOperation = new EnumMap<>(Operation.class);
+        final Map<Operation, AtomicLong> completed = new EnumMap<>(Operation.class);
+        final Histogram total = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        final AtomicLong totalCompleted = new AtomicLong();
+        final Map<String, AtomicLong> statuses = new ConcurrentHashMap<>();
+        final AtomicLong errors = new AtomicLong();
+        final long expectedIntervalMicros;
+
+        Result(long expectedIntervalMicros) {
+            this.expectedIntervalMicros = expectedIntervalMicros;
+            for (Operation operation : Operation.values()) {
+                byOperation.put(operation, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+                completed.put(operation, new AtomicLong());
+            }
+        }
+
+        void record(Operation operation, int status, long micros) {
+            statuses.computeIfAbsent(operation + " " + status, k -> new AtomicLong()).incrementAndGet();
+            if (status != 503) {
+                completed.get(operation).incrementAndGet();
+                totalCompleted.incrementAndGet();
+                if (expectedIntervalMicros > 0) {
+                    byOperation.get(operation).recordValueWithExpectedInterval(micros, expectedIntervalMicros);
+                    total.recordValueWithExpectedInterval(micros, expectedIntervalMicros);
+                } else {
+                    byOperation.get(operation).recordValue(micros);
+                    total.recordValue(micros);
+                }
+            }
+        }
+
+        // Відповіді 4xx у цій суміші не очікуються: запити йдуть лише до існуючих id і без If-Match
+        void assertNoClientErrors() {
+            Map<String, Long> clientErrors = new TreeMap<>();
+            statuses.forEach((key, count) -> {
+                int status = Integer.parseInt(key.substring(key.indexOf(' ') + 1));
+                if (status >= 400 && status < 500) {
+                    clientErrors.put(key, count.get());
+                }
+            });
+            if (!clientErrors.isEmpty()) {
+                fail("Неочікувані відповіді 4xx: " + clientErrors);
+            }
+        }
+
+        void print(int seconds) {
+            System.out.printf("%-8s %10s %10s %10s %10s %10s %10s%n",
+                    "операція", "запитів", "оп/с", "p50 мс", "p99 мс", "p999 мс", "max мс");
+            for (Map.Entry<Operation, Histogram> entry : byOperation.entrySet()) {
+                if (entry.getValue().getTotalCount() > 0) {
+                    printRow(entry.getKey().name(), entry.getValue(), completed.get(entry.getKey()).get(), seconds);
+                }
+            }
+            printRow("ALL", total, totalCompleted.get(), seconds);
+            Map<String, Long> counts = new TreeMap<>();
+            statuses.forEach((key, count) -> counts.put(key, count.get()));
+            System.out.printf("відповіді за статусом: %s%n", counts);
+            System.out.printf("помилок з'єднання: %,d%n", errors.get());
+        }
+
+        private static void printRow(String name, Histogram histogram, long count, int seconds) {
+            System.out.printf("%-8s %,10d %,10.0f %10.2f %10.2f %10.2f %10.2f%n",
+                    name,
+                    count,
+                    (double) count / seconds,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+        }
+    }
+}
@@ -1,13 +1,56 @@
 package org.acme;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.acme.api.TaskCborCodec;
+import org.acme.domain.Task;
+import org.acme.domain.TaskPriority;
+import org.acme.domain.TaskStatus;
+import org.acme.service.PersistenceManager;
+import org.acme.service.TaskArchiver;
 import org.junit.jupiter.api.Test;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 class TaskResourceTest {
+
+    @Inject
+    TaskArchiver taskArchiver;
+
+    @Inject
+    PersistenceManager persistenceManager;
+
     @Test
     void testHelloEndpoint() {
         given()
@@ -17,4 +60,618 @@ class TaskResourceTest {
              .body(is("Hello from Quarkus REST"));
     }
 
-}
\ No newline at end of file
+    @Test
+    void testUpdateWithStaleIfMatchReturns412() {
+        ExtractableResponse<Response> created = given()
+          .contentType(ContentType.JSON)
+          .body("{\"title\":\"CAS\",\"priority\":\"LOW\"}")
+          .when().post("/tasks")
+          .then()
+             .statusCode(201)
+             .extract();
+        long id = created.jsonPath().getLong("id");
+        String eTag = created.header("ETag");
+
+        given()
+          .contentType(ContentType.JSON)
+          .header("If-Match", eTag)
+          .body("{\"status\":\"IN_PROGRESS\"}")
+          .when().put("/tasks/" + id)
+          .then()
+             .statusCode(200)
+             .body("status", is("IN_PROGRESS"));
+
+        // Той самий (вже застарілий) ETag більше не збігається з версією задачі
+        given()
+          .contentType(ContentType.JSON)
+          .header("If-Match", eTag)
+          .body("{\"status\":\"DONE\"}")
+          .when().put("/tasks/" + id)
+          .then()
+             .statusCode(412);
+    }
+
+    @Test
+    void testIfMatchUsesStrongComparison() {
+        ExtractableResponse<Response> created = given()
+          .contentType(ContentType.JSON)
+          .body("{\"title\":\"Strong ETag\",\"priority\":\"LOW\"}")
+          .when().post("/tasks")
+          .then()
+             .statusCode(201)
+             .extract();
+        long id = created.jsonPath().getLong("id");
+        String eTag = created.header("ETag");
+
+        // Слабкий тег з тією самою версією не проходить сильне порівняння
+        given()
+          .contentType(ContentType.JSON)
+          .header("If-Match", "W/" + eTag)
+          .body("{\"status\":\"IN_PROGRESS\"}")
+          .when().put("/tasks/" + id)
+          .then()
+             .statusCode(412);
+
+        given()
+          .contentType(ContentType.JSON)
+          .header("If-Match", "*")
+          .body("{\"status\":\"IN_PROGRESS\"}")
+          .when().put("/tasks/" + id)
+          .then()
+             .statusCode(200);
+
+        // If-Match: * для відсутньої задачі — 412, а не 404
+        given()
+          .contentType(ContentType.JSON)
+          .header("If-Match", "*")
+          .body("{\"status\":\"DONE\"}")
+          .when().put("/tasks/987654321")
+          .then()
+             .statusCode(412);
+    }
+
+    @Test
+    void testIfMatchAcceptsListOfTags() {
+        ExtractableResponse<Response> created = given()
+          .contentType(ContentType.JSON)
+          .body("{\"title\":\"ETag list\",\"priority\":\"LOW\"}")
+          .when().post("/tasks")
+          .then()
+             .statusCode(201)
+             .extract();
+        long id = created.jsonPath().getLong("id");
+        long version = Long.parseLong(created.header("ETag").replace("\"", ""));
+
+        // Поточна версія — не перша в списку
+        given()
+          .contentType(ContentType.JSON)
+          .header("If-Match", "\"" + (version + 5) + "\", \"" + version + "\"")
+          .body("{\"status\":\"IN_PROGRESS\"}")
+          .when().put("/tasks/" + id)
+          .then()
+             .statusCode(200)
+             .header("ETag", "\"" + (version + 1) + "\"");
+
+        // Слабкий тег у списку не збігається навіть із поточною версією
+        given()
+          .contentType(ContentType.JSON)
+          .header("If-Match", "W/\"" + (version + 1) + "\", \"" + version + "\"")
+          .body("{\"status\":\"DONE\"}")
+          .when().put("/tasks/" + id)
+          .then()
+             .statusCode(412);
+
+        // Кілька заголовків If-Match об'єднуються в один список
+        given()
+          .contentType(ContentType.JSON)
+          .header("If-Match", "\"" + version + "\"")
+          .header("If-Match", "\"" + (version + 1) + "\"")
+          .body("{\"status\":\"DONE\"}")
+          .when().put("/tasks/" + id)
+          .then()
+             .statusCode(200)
+             .body("status", is("DONE"));
+    }
+
+    @Test
+    void testIfMatchAnyRacingWithDeleteNeverReturns404() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            long id = given()
+              .contentType(ContentType.JSON)
+              .body("{\"title\":\"Race\",\"priority\":\"LOW\"}")
+              .when().post("/tasks")
+              .then()
+                 .statusCode(201)
+                 .extract().jsonPath().getLong("id");
+
+            CompletableFuture<Integer> delete = CompletableFuture.supplyAsync(
+                    () -> given().when().delete("/tasks/" + id).statusCode());
+            int status = given()
+              .contentType(ContentType.JSON)
+              .header("If-Match", "*")
+              .body("{\"status\":\"DONE\"}")
+              .when().put("/tasks/" + id)
+              .statusCode();
+
+            // Існування перевіряється в тому самому compare-and-set, що й оновлення
+            assertTrue(status == 200 || status == 412, "PUT з If-Match: * повернув " + status);
+            assertEquals(204, delete.get());
+        }
+    }
+
+    @Test
+    void testImportCsvThenExportContainsTask() {
+        given()
+          .contentType("text/csv")
+          .body("id,title,status,priority,createdAt,updatedAt,version\n"
+              + "900001,Imported,IN_PROGRESS,HIGH,01.02.2025 10:00:00,02.02.2025 11:30:00,3\n"
+              + "not,a,task\n")
+          .when().post("/tasks/import")
+          .then()
+             .statusCode(200)
+             .body("imported", is(1))
+             .body("skipped", is(1));
+
+        given()
+          .when().get("/tasks/900001")
+          .then()
+             .statusCode(200)
+             .body("title", is("Imported"))
+             .body("status", is("IN_PROGRESS"));
+
+        given()
+          .when().get("/tasks/export")
+          .then()
+             .statusCode(200)
+             .body(containsString("900001,Imported,IN_PROGRESS,HIGH,01.02.2025 10:00:00,02.02.2025 11:30:00,3"));
+    }
+
+    // Тіло без Content-Length (Transfer-Encoding: chunked)
+    private static InputStream chunked(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String importCsv(long firstId, int count) {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            csv.append(firstId + i).append(",Body limit ").append(i)
+               .append(",NEW,LOW,01.02.2025 10:00:00,01.02.2025 10:00:00,1\n");
+        }
+        return csv.toString();
+    }
+
+    @Test
+    void testBodyLimitExemptsOnlyImport() {
+        // У тестовому профілі quarkus.http.limits.max-body-size=64K, tasks.import.max-body-size=1M
+        String task = "{\"title\":\"" + "x".repeat(100 * 1024) + "\",\"priority\":\"LOW\"}";
+        given()
+          .contentType(ContentType.JSON)
+          .body(task)
+          .when().post("/tasks")
+          .then()
+             .statusCode(413);
+
+        given()
+          .contentType(ContentType.JSON)
+          .body(chunked(task))
+          .when().post("/tasks")
+          .then()
+             .statusCode(413);
+
+        String csv = importCsv(900301, 2000);
+        assertTrue(csv.length() > 64 * 1024);
+        given()
+          .contentType("text/csv")
+          .body(csv)
+          .when().post("/tasks/import")
+          .then()
+             .statusCode(200)
+             .body("imported", is(2000));
+
+        given()
+          .contentType("text/csv")
+          .body(chunked(csv))
+          .when().post("/tasks/import")
+          .then()
+             .statusCode(200)
+             .body("imported", is(2000))
+             .body("conflicts", is(0));
+    }
+
+    @Test
+    void testImportRejectsBodiesOverItsOwnLimit() {
+        String csv = importCsv(902401, 20000);
+        assertTrue(csv.length() > 1024 * 1024);
+        given()
+          .contentType("text/csv")
+          .body(csv)
+          .when().post("/tasks/import")
+          .then()
+             .statusCode(413);
+
+        given()
+          .contentType("text/csv")
+          .body(chunked(csv))
+          .when().post("/tasks/import")
+          .then()
+             .statusCode(413);
+
+        given()
+          .contentType(ContentType.JSON)
+          .body("[]")
+          .when().post("/tasks/import")
+          .then()
+             .statusCode(415);
+    }
+
+    @Test
+    void testMalformedContentLengthIsBadRequest() throws IOException {
+        for (String path : List.of("/tasks/import", "/tasks")) {
+            try (Socket socket = new Socket("localhost", RestAssured.port)) {
+                socket.setSoTimeout(10_000);
+                socket.getOutputStream().write(("POST " + path + " HTTP/1.1\r\nHost: localhost\r\n"
+                        + "Content-Type: text/csv\r\nContent-Length: 12abc\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                String statusLine = new BufferedReader(new InputStreamReader(
+                        socket.getInputStream(), StandardCharsets.US_ASCII)).readLine();
+                assertTrue(statusLine != null && statusLine.startsWith("HTTP/1.1 400"), path + ": " + statusLine);
+            }
+        }
+    }
+
+    @Test
+    void testStatsCountArchivedTasksOnlyOnRequest() throws Exception {
+        given()
+          .contentType("text/csv")
+          .body("900201,Archived for stats,CANCELLED,HIGH,01.01.2020 09:00:00,02.01.2020 09:00:00,1\n")
+          .when().post("/tasks/import")
+          .then()
+             .statusCode(200);
+        assertTrue(taskArchiver.archiveNow() >= 1);
+
+        int hot = given().when().get("/tasks").then().statusCode(200).extract().path("size()");
+        int all = given().when().get("/tasks?includeArchived=true").then().statusCode(200).extract().path("size()");
+        int hotCancelledHigh = given().when().get("/tasks/stats").then().statusCode(200)
+                .extract().path("matrix.CANCELLED.HIGH");
+
+        given()
+          .when().get("/tasks/stats")
+          .then()
+             .statusCode(200)
+             .body("total", is(hot));
+
+        given()
+          .when().get("/tasks/stats?includeArchived=true")
+          .then()
+             .statusCode(200)
+             .body("total", is(all))
+             .body("matrix.CANCELLED.HIGH", greaterThanOrEqualTo(hotCancelledHigh + 1));
+    }
+
+    @Test
+    void testArchivedTaskIsHiddenByDefaultAndCanBeReopenedOrDeleted() throws Exception {
+        given()
+          .contentType("text/csv")
+          .body("900101,Archived,DONE,LOW,01.01.2020 09:00:00,02.01.2020 09:00:00,1\n"
+              + "900102,Archived deleted,CANCELLED,LOW,01.01.2020 09:00:00,02.01.2020 09:00:00,1\n"
+              + "900103,Archived reimported,DONE,LOW,01.01.2020 09:00:00,02.01.2020 09:00:00,1\n")
+          .when().post("/tasks/import")
+          .then()
+             .statusCode(200);
+
+        assertTrue(taskArchiver.archiveNow() >= 3);
+
+        given()
+          .when().get("/tasks/900101")
+          .then()
+             .statusCode(200)
+             .body("title", is("Archived"));
+
+        given()
+          .when().get("/tasks?status=DONE")
+          .then()
+             .statusCode(200)
+             .body("id", not(hasItem(900101)));
+
+        given()
+          .when().get("/tasks?status=DONE&includeArchived=true")
+          .then()
+             .statusCode(200)
+             .body("id", hasItem(900101));
+
+        // Зміна архівної задачі повертає її в гаряче сховище
+        given()
+          .contentType(ContentType.JSON)
+          .header("If-Match", "\"1\"")
+          .body("{\"status\":\"NEW\"}")
+          .when().put("/tasks/900101")
+          .then()
+             .statusCode(200)
+             .header("ETag", "\"2\"")
+             .body("status", is("NEW"));
+
+        given()
+          .when().get("/tasks?status=NEW")
+          .then()
+             .statusCode(200)
+             .body("id", hasItem(900101));
+
+        // Видалена архівна задача зникає звідусіль
+        given()
+          .when().delete("/tasks/900102")
+          .then()
+             .statusCode(204);
+
+        given()
+          .when().get("/tasks/900102")
+          .then()
+             .statusCode(404);
+
+        given()
+          .when().get("/tasks?status=CANCELLED&includeArchived=true")
+          .then()
+             .statusCode(200)
+             .body("id", not(hasItem(900102)));
+
+        given()
+          .when().delete("/tasks/900102")
+          .then()
+             .statusCode(404);
+
+        // Після видалення імпортованої поверх архівної задачі стара архівна копія не з'являється знову
+        given()
+          .contentType("text/csv")
+          .body("900103,Reimported,NEW,LOW,01.01.2020 09:00:00,03.01.2020 09:00:00,5\n")
+          .when().post("/tasks/import")
+          .then()
+             .statusCode(200);
+
+        given()
+          .when().delete("/tasks/900103")
+          .then()
+             .statusCode(204);
+
+        given()
+          .when().get("/tasks/900103")
+          .then()
+             .statusCode(404);
+    }
+
+    @Test
+    void testAdmissionStatusCountsAdmittedWrites() {
+        given()
+          .contentType(ContentType.JSON)
+          .body("{\"title\":\"Admission\",\"priority\":\"LOW\"}")
+          .when().post("/tasks")
+          .then()
+             .statusCode(201);
+
+        given()
+          .when().get("/admission/status")
+          .then()
+             .statusCode(200)
+             .body("maxInFlight", is(64))
+             .body("inFlight", is(0))
+             .body("admitted", greaterThan(0));
+    }
+
+    @Test
+    void testTimeRangeBoundsAreInclusiveAndFollowUpdates() {
+        given()
+          .contentType("text/csv")
+          .body("900201,Range before,NEW,LOW,01.03.2021 09:59:59,01.03.2021 09:59:59,1\n"
+              + "900202,Range from,NEW,LOW,01.03.2021 10:00:00,01.03.2021 10:00:00,1\n"
+              + "900203,Range to,NEW,LOW,01.03.2021 12:00:00,01.03.2021 12:00:00,1\n"
+              + "900204,Range after,NEW,LOW,01.03.2021 12:00:01,01.03.2021 12:00:01,1\n")
+          .when().post("/tasks/import")
+          .then()
+             .statusCode(200)
+             .body("imported", is(4));
+
+        given()
+          .when().get("/tasks?createdFrom=2021-03-01T10:00:00&createdTo=2021-03-01T12:00:00")
+          .then()
+             .statusCode(200)
+             .body("id", contains(900202, 900203));
+
+        given()
+          .when().get("/tasks?createdFrom=yesterday")
+          .then()
+             .statusCode(400);
+
+        // Після PUT задача переходить у кінець індексу updatedAt і знаходиться рівно один раз
+        String since = LocalDateTime.now().minusSeconds(1).toString();
+        given()
+          .when().get("/tasks?updatedSince=" + since)
+          .then()
+             .statusCode(200)
+             .body("id", not(hasItem(900201)));
+
+        given()
+          .contentType(ContentType.JSON)
+          .body("{\"title\":\"Range moved\"}")
+          .when().put("/tasks/900201")
+          .then()
+             .statusCode(200);
+
+        given()
+          .when().get("/tasks?updatedSince=" + since)
+          .then()
+             .statusCode(200)
+             .body("findAll { it.id == 900201 }.title", contains("Range moved"));
+
+        given()
+          .when().get("/tasks?createdFrom=2021-03-01T00:00:00&createdTo=2021-03-01T23:59:59&updatedSince=2021-03-01T11:00:00")
+          .then()
+             .statusCode(200)
+             .body("id", contains(900201, 900203, 900204));
+    }
+
+    @Test
+    void testCborListAndCreation() throws Exception {
+        // Пакет і одиночна задача створюються з CBOR-тіла: [title, priority]
+        byte[] batch = cbor(g -> {
+            g.writeStartArray();
+            for (String title : List.of("CBOR batch 1", "CBOR batch 2")) {
+                g.writeStartArray();
+                g.writeString(title);
+                g.writeNumber(TaskPriority.HIGH.ordinal());
+                g.writeEndArray();
+            }
+            g.writeEndArray();
+        });
+        given()
+          .contentType(TaskCborCodec.APPLICATION_CBOR)
+          .accept(ContentType.JSON)
+          .body(batch)
+          .when().post("/tasks/batch")
+          .then()
+             .statusCode(201)
+             .body("title", contains("CBOR batch 1", "CBOR batch 2"))
+             .body("priority", contains("HIGH", "HIGH"));
+
+        byte[] single = cbor(g -> {
+            g.writeStartArray();
+            g.writeString("CBOR single");
+            g.writeNumber(TaskPriority.LOW.ordinal());
+            g.writeEndArray();
+        });
+        long id = given()
+          .contentType(TaskCborCodec.APPLICATION_CBOR)
+          .accept(ContentType.JSON)
+          .body(single)
+          .when().post("/tasks")
+          .then()
+             .statusCode(201)
+             .body("title", is("CBOR single"))
+             .body("priority", is("LOW"))
+             .extract().jsonPath().getLong("id");
+
+        byte[] badOrdinal = cbor(g -> {
+            g.writeStartArray();
+            g.writeString("CBOR bad");
+            g.writeNumber(TaskPriority.values().length);
+            g.writeEndArray();
+        });
+        given()
+          .contentType(TaskCborCodec.APPLICATION_CBOR)
+          .body(badOrdinal)
+          .when().post("/tasks")
+          .then()
+             .statusCode(400);
+
+        // Список у CBOR містить ті самі задачі, що й JSON
+        byte[] list = given()
+          .accept(TaskCborCodec.APPLICATION_CBOR)
+          .when().get("/tasks?priority=LOW")
+          .then()
+             .statusCode(200)
+             .contentType(TaskCborCodec.APPLICATION_CBOR)
+             .extract().asByteArray();
+        List<Task> decoded = TaskCborCodec.readTasks(new ByteArrayInputStream(list));
+        List<Long> jsonIds = given()
+          .accept(ContentType.JSON)
+          .when().get("/tasks?priority=LOW")
+          .then()
+             .statusCode(200)
+             .extract().jsonPath().getList("id", Long.class);
+        assertEquals(jsonIds, decoded.stream().map(Task::getId).toList());
+        Task created = decoded.stream().filter(t -> t.getId() == id).findFirst().orElseThrow();
+        assertEquals("CBOR single", created.getTitle());
+        assertEquals(TaskStatus.NEW, created.getStatus());
+    }
+
+    // Кодує CBOR-документ для тіла запиту
+    private interface CborBody {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    private static byte[] cbor(CborBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = new CBORFactory().createGenerator(out)) {
+            body.write(generator);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void testStatsMatchTaskListAfterEveryKindOfChange() {
+        long id = given()
+          .contentType(ContentType.JSON)
+          .body("{\"title\":\"Stats\",\"priority\":\"LOW\"}")
+          .when().post("/tasks")
+          .then()
+             .statusCode(201)
+             .extract().jsonPath().getLong("id");
+        long removedId = given()
+          .contentType(ContentType.JSON)
+          .body("{\"title\":\"Stats removed\",\"priority\":\"HIGH\"}")
+          .when().post("/tasks")
+          .then()
+             .statusCode(201)
+             .extract().jsonPath().getLong("id");
+        assertStatsMatchTaskList();
+
+        persistenceManager.updateTaskStatus(id, TaskStatus.IN_PROGRESS);
+        persistenceManager.updateTaskPriority(id, TaskPriority.HIGH);
+        assertStatsMatchTaskList();
+
+        given()
+          .contentType(ContentType.JSON)
+          .body("{\"title\":\"Stats updated\",\"status\":\"DONE\",\"priority\":\"MEDIUM\"}")
+          .when().put("/tasks/" + id)
+          .then()
+             .statusCode(200);
+        assertStatsMatchTaskList();
+
+        given()
+          .when().delete("/tasks/" + removedId)
+          .then()
+             .statusCode(204);
+        assertStatsMatchTaskList();
+
+        // Імпорт існуючого id замінює задачу (saveTask) з іншими статусом і пріоритетом
+        given()
+          .contentType("text/csv")
+          .body(id + ",Stats imported,CANCELLED,LOW,01.02.2025 10:00:00,02.02.2025 11:30:00,9\n")
+          .when().post("/tasks/import")
+          .then()
+             .statusCode(200)
+             .body("imported", is(1));
+        assertStatsMatchTaskList();
+    }
+
+    // Лічильники GET /tasks/stats збігаються з підрахунком по повному списку GET /tasks
+    private static void assertStatsMatchTaskList() {
+        List<Map<String, Object>> tasks = given()
+          .when().get("/tasks")
+          .then()
+             .statusCode(200)
+             .extract().jsonPath().getList("$");
+
+        Map<String, Integer> byStatus = new HashMap<>();
+        Map<String, Integer> byPriority = new HashMap<>();
+        Map<String, Integer> matrix = new HashMap<>();
+        for (Map<String, Object> task : tasks) {
+            byStatus.merge((String) task.get("status"), 1, Integer::sum);
+            byPriority.merge((String) task.get("priority"), 1, Integer::sum);
+            matrix.merge(task.get("status") + "." + task.get("priority"), 1, Integer::sum);
+        }
+
+        JsonPath stats = given()
+          .when().get("/tasks/stats")
+          .then()
+             .statusCode(200)
+             .extract().jsonPath();
+        assertEquals(tasks.size(), stats.getInt("total"));
+        for (TaskStatus status : TaskStatus.values()) {
+            assertEquals(byStatus.getOrDefault(status.name(), 0), stats.getInt("byStatus." + status), status.name());
+            for (TaskPriority priority : TaskPriority.values()) {
+                String cell = status + "." + priority;
+                assertEquals(matrix.getOrDefault(cell, 0), stats.getInt("matrix." + cell), cell);
+            }
+        }
+        for (TaskPriority priority : TaskPriority.values()) {
+            assertEquals(byPriority.getOrDefault(priority.name(), 0), stats.getInt("byPriority." + priority), priority.name());
+        }
+    }
+}
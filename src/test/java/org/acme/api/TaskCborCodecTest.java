@@ -0,0 +1,147 @@
+package org.acme.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.acme.domain.Task;
+import org.acme.domain.TaskPriority;
+import org.acme.domain.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskCborCodecTest {
+
+    // Кодування довільного CBOR-документа (для некоректних тіл, які кодек сам не створить)
+    interface Body {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    static byte[] cbor(Body body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = new CBORFactory().createGenerator(out)) {
+            body.write(generator);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<Task> roundTrip(List<Task> tasks) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskCborCodec.writeTasks(tasks, out);
+        return TaskCborCodec.readTasks(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static void assertSameTask(Task expected, Task actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getPriority(), actual.getPriority());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getUpdatedAt(), actual.getUpdatedAt());
+        assertEquals(expected.getVersion(), actual.getVersion());
+    }
+
+    @Test
+    void tasksRoundTrip() throws IOException {
+        List<Task> tasks = List.of(
+                new Task(1, "Перша \"задача\"", TaskStatus.IN_PROGRESS, TaskPriority.HIGH,
+                        LocalDateTime.of(2025, 1, 2, 3, 4, 5, 678_000_000), LocalDateTime.of(2025, 2, 3, 4, 5, 6), 7),
+                new Task(Long.MAX_VALUE, "", TaskStatus.CANCELLED, TaskPriority.LOW,
+                        LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_000_000), LocalDateTime.of(2100, 1, 1, 0, 0), 0));
+
+        List<Task> decoded = roundTrip(tasks);
+        assertEquals(tasks.size(), decoded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertSameTask(tasks.get(i), decoded.get(i));
+        }
+        assertTrue(roundTrip(List.of()).isEmpty());
+    }
+
+    @Test
+    void nullFieldsRoundTrip() throws IOException {
+        Task empty = new Task();
+        Task withoutTitle = new Task(2, null, TaskStatus.NEW, TaskPriority.MEDIUM,
+                LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 1, 0, 0), 1);
+
+        List<Task> decoded = roundTrip(List.of(empty, withoutTitle));
+        assertSameTask(empty, decoded.get(0));
+        assertNull(decoded.get(0).getStatus());
+        assertNull(decoded.get(0).getCreatedAt());
+        assertSameTask(withoutTitle, decoded.get(1));
+    }
+
+    @Test
+    void badOrdinalIsRejected() throws IOException {
+        byte[] task = cbor(g -> {
+            g.writeStartArray();
+            g.writeStartArray();
+            g.writeNumber(1L);
+            g.writeString("Задача");
+            g.writeNumber(TaskStatus.values().length);
+            g.writeNumber(0);
+            g.writeNumber(0L);
+            g.writeNumber(0L);
+            g.writeNumber(0L);
+            g.writeEndArray();
+            g.writeEndArray();
+        });
+        IOException error = assertThrows(IOException.class,
+                () -> TaskCborCodec.readTasks(new ByteArrayInputStream(task)));
+        assertTrue(error.getMessage().contains("ординал"));
+
+        byte[] creation = cbor(g -> {
+            g.writeStartArray();
+            g.writeString("Задача");
+            g.writeNumber(-1);
+            g.writeEndArray();
+        });
+        assertThrows(IOException.class, () -> TaskCborCodec.readCreation(new ByteArrayInputStream(creation)));
+    }
+
+    @Test
+    void malformedStructureIsRejected() throws IOException {
+        byte[] tooShort = cbor(g -> {
+            g.writeStartArray();
+            g.writeStartArray();
+            g.writeNumber(1L);
+            g.writeString("Задача");
+            g.writeEndArray();
+            g.writeEndArray();
+        });
+        assertThrows(IOException.class, () -> TaskCborCodec.readTasks(new ByteArrayInputStream(tooShort)));
+
+        byte[] notArray = cbor(g -> g.writeString("не масив"));
+        assertThrows(IOException.class, () -> TaskCborCodec.readCreations(new ByteArrayInputStream(notArray)));
+    }
+
+    @Test
+    void creationsAreDecoded() throws IOException {
+        byte[] body = cbor(g -> {
+            g.writeStartArray();
+            g.writeStartArray();
+            g.writeString("Перша");
+            g.writeNumber(TaskPriority.HIGH.ordinal());
+            g.writeEndArray();
+            g.writeStartArray();
+            g.writeNull();
+            g.writeNull();
+            g.writeEndArray();
+            g.writeEndArray();
+        });
+
+        List<TaskResource.TaskCreationDTO> creations = TaskCborCodec.readCreations(new ByteArrayInputStream(body));
+        assertEquals(2, creations.size());
+        assertEquals("Перша", creations.get(0).title);
+        assertEquals(TaskPriority.HIGH, creations.get(0).priority);
+        assertNull(creations.get(1).title);
+        assertNull(creations.get(1).priority);
+    }
+}
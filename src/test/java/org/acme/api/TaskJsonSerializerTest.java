@@ -0,0 +1,115 @@
+package org.acme.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.acme.domain.Task;
+import org.acme.domain.TaskPriority;
+import org.acme.domain.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * TaskJsonSerializer має видавати ті самі байти, що й Jackson з налаштуваннями Quarkus
+ * (JavaTimeModule, дати рядками ISO).
+ */
+class TaskJsonSerializerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 2, 3, 4, 5, 123_000_000);
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2025, 1, 2, 3, 4, 0);
+
+    private void assertSameAsJackson(Task task) throws Exception {
+        assertEquals(mapper.writeValueAsString(task),
+                new String(TaskJsonSerializer.toJson(task), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void escapesEveryControlCharacterLikeJackson() throws Exception {
+        StringBuilder title = new StringBuilder("Лапки \" риска \\ слеш / юнікод ☃ ");
+        for (char c = 0; c < 0x20; c++) {
+            title.append(c);
+        }
+        title.append('\u007F');
+        assertSameAsJackson(new Task(1, title.toString(), TaskStatus.NEW, TaskPriority.LOW, CREATED, UPDATED, 3));
+    }
+
+    @Test
+    void writesNullFieldsLikeJackson() throws Exception {
+        assertSameAsJackson(new Task(2, null, TaskStatus.DONE, TaskPriority.HIGH, CREATED, UPDATED, 0));
+        assertSameAsJackson(new Task());
+    }
+
+    @Test
+    void writesTimestampsWithMillisecondsLikeJackson() throws Exception {
+        assertSameAsJackson(new Task(3, "Мілісекунди", TaskStatus.IN_PROGRESS, TaskPriority.MEDIUM,
+                LocalDateTime.of(2025, 6, 30, 23, 59, 59, 1_000_000),
+                LocalDateTime.of(2025, 7, 1, 0, 0, 0, 100_000_000), 1));
+        assertSameAsJackson(new Task("Щойно створена", TaskPriority.LOW));
+    }
+
+    @Test
+    void setterClearsCachedJson() throws Exception {
+        Task task = new Task(4, "Перша назва", TaskStatus.NEW, TaskPriority.LOW, CREATED, UPDATED, 0);
+        byte[] first = TaskJsonSerializer.toJson(task);
+        assertSame(first, TaskJsonSerializer.toJson(task));
+
+        task.setTitle("Друга назва");
+        byte[] second = TaskJsonSerializer.toJson(task);
+        assertNotSame(first, second);
+        assertSameAsJackson(task);
+
+        task.setStatus(TaskStatus.CANCELLED);
+        task.setPriority(TaskPriority.HIGH);
+        task.incrementVersion();
+        assertSameAsJackson(task);
+    }
+
+    @Test
+    void cacheIsBoundedAndOldestEntryIsEvicted() throws Exception {
+        Task oldest = new Task(7, "Найстаріша", TaskStatus.NEW, TaskPriority.LOW, CREATED, UPDATED, 0);
+        byte[] first = TaskJsonSerializer.toJson(oldest);
+        assertSame(first, oldest.cachedJson());
+
+        List<Task> others = new ArrayList<>();
+        for (int i = 0; i < TaskJsonSerializer.MAX_CACHED; i++) {
+            Task task = new Task(100 + i, "Задача " + i, TaskStatus.NEW, TaskPriority.LOW, CREATED, UPDATED, 0);
+            TaskJsonSerializer.toJson(task);
+            others.add(task);
+        }
+
+        // Після MAX_CACHED нових записів кеш найстарішої задачі витіснено, а вміст JSON не змінився
+        assertNull(oldest.cachedJson());
+        assertNotNull(others.get(others.size() - 1).cachedJson());
+        assertEquals(TaskJsonSerializer.MAX_CACHED, others.stream().filter(t -> t.cachedJson() != null).count());
+        assertArrayEquals(first, TaskJsonSerializer.toJson(oldest));
+    }
+
+    @Test
+    void writesArrayLikeJackson() throws Exception {
+        List<Task> tasks = List.of(
+                new Task(5, "Перша", TaskStatus.NEW, TaskPriority.LOW, CREATED, UPDATED, 0),
+                new Task(6, "Друга\tз табуляцією", TaskStatus.DONE, TaskPriority.HIGH, CREATED, UPDATED, 2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskJsonSerializer.writeArray(tasks, out);
+        assertEquals(mapper.writeValueAsString(tasks), out.toString(StandardCharsets.UTF_8));
+
+        out.reset();
+        TaskJsonSerializer.writeArray(List.of(), out);
+        assertEquals("[]", out.toString(StandardCharsets.UTF_8));
+    }
+}
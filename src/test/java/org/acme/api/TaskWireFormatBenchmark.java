@@ -0,0 +1,113 @@
+package org.acme.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.acme.domain.Task;
+import org.acme.domain.TaskPriority;
+import org.acme.domain.TaskStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Порівняння JSON і CBOR для списку задач: розмір відповіді, час кодування та декодування.
+ * Не є JUnit-тестом (surefire його не запускає); запуск після ./mvnw test-compile:
+ *
+ *   ./mvnw dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/classes:target/test-classes:$(cat target/cp.txt) org.acme.api.TaskWireFormatBenchmark [tasks] [iterations]
+ *
+ * JSON кодується TaskJsonSerializer без кешу (як перша відповідь після змін),
+ * декодується через Jackson у дерево з подальшим створенням Task — як це робить типовий клієнт.
+ */
+public class TaskWireFormatBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        List<Task> tasks = generate(count);
+        ObjectMapper mapper = new ObjectMapper();
+
+        byte[] json = encodeJson(tasks);
+        byte[] cbor = encodeCbor(tasks);
+
+        // Прогрів JIT
+        for (int i = 0; i < iterations; i++) {
+            encodeJson(tasks);
+            encodeCbor(tasks);
+            decodeJson(mapper, json);
+            TaskCborCodec.readTasks(new ByteArrayInputStream(cbor));
+        }
+
+        long jsonEncode = 0, cborEncode = 0, jsonDecode = 0, cborDecode = 0;
+        for (int i = 0; i < iterations; i++) {
+            long t0 = System.nanoTime();
+            encodeJson(tasks);
+            long t1 = System.nanoTime();
+            encodeCbor(tasks);
+            long t2 = System.nanoTime();
+            decodeJson(mapper, json);
+            long t3 = System.nanoTime();
+            TaskCborCodec.readTasks(new ByteArrayInputStream(cbor));
+            long t4 = System.nanoTime();
+            jsonEncode += t1 - t0;
+            cborEncode += t2 - t1;
+            jsonDecode += t3 - t2;
+            cborDecode += t4 - t3;
+        }
+
+        System.out.printf("Задач: %,d, ітерацій: %d%n", count, iterations);
+        System.out.printf("%-6s %14s %12s %14s %14s%n", "формат", "байтів", "байт/задачу", "кодування мс", "декодування мс");
+        print("JSON", json.length, count, jsonEncode, jsonDecode, iterations);
+        print("CBOR", cbor.length, count, cborEncode, cborDecode, iterations);
+    }
+
+    private static void print(String name, int bytes, int count, long encodeNanos, long decodeNanos, int iterations) {
+        System.out.printf("%-6s %,14d %12.1f %14.2f %14.2f%n", name, bytes, (double) bytes / count,
+                encodeNanos / 1e6 / iterations, decodeNanos / 1e6 / iterations);
+    }
+
+    private static List<Task> generate(int count) {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime createdAt = base.plusSeconds(i * 37L);
+            tasks.add(new Task(i + 1, "Задача номер " + i,
+                    TaskStatus.values()[i % TaskStatus.values().length],
+                    TaskPriority.values()[i % TaskPriority.values().length],
+                    createdAt, createdAt.plusMinutes(i % 600), i % 5));
+        }
+        return tasks;
+    }
+
+    private static byte[] encodeJson(List<Task> tasks) throws IOException {
+        for (Task task : tasks) {
+            task.cacheJson(null);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskJsonSerializer.writeArray(tasks, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] encodeCbor(List<Task> tasks) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskCborCodec.writeTasks(tasks, out);
+        return out.toByteArray();
+    }
+
+    private static List<Task> decodeJson(ObjectMapper mapper, byte[] json) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        for (JsonNode node : mapper.readTree(json)) {
+            tasks.add(new Task(node.get("id").asLong(), node.get("title").asText(),
+                    TaskStatus.valueOf(node.get("status").asText()),
+                    TaskPriority.valueOf(node.get("priority").asText()),
+                    LocalDateTime.parse(node.get("createdAt").asText()),
+                    LocalDateTime.parse(node.get("updatedAt").asText()),
+                    node.get("version").asLong()));
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,63 @@
+package org.acme.domain;
+
+import org.acme.api.TaskJsonSerializer;
+
+import java.time.LocalDateTime;
+
+/**
+ * Вимірювання кількості байтів heap на одну задачу (без урахування рядка title).
+ * Не є JUnit-тестом (surefire його не запускає); запуск після ./mvnw test-compile:
+ *
+ *   java -cp target/classes:target/test-classes org.acme.domain.TaskFootprintBenchmark [count]
+ *
+ * Усі задачі мають спільний рядок title, а дати — різні, як у реальному сховищі.
+ * Окремо вимірюється вартість закешованого JSON (TaskJsonSerializer) на одну задачу, що тримає кеш.
+ */
+public class TaskFootprintBenchmark {
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String title = "Задача";
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        Task[] tasks = new Task[count];
+        long before = usedHeap();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime createdAt = base.plusSeconds(i);
+            tasks[i] = new Task(i + 1, title, statuses[i % statuses.length], priorities[i % priorities.length],
+                    createdAt, createdAt.plusNanos(1_000_000L * (i % 1000)));
+        }
+        long after = usedHeap();
+
+        // Масив посилань рахуємо окремо: він не є частиною задачі
+        long arrayBytes = 16 + 4L * count;
+        System.out.printf("Задач: %,d, байтів на задачу: %.1f%n",
+                count, (double) (after - before - arrayBytes) / count);
+
+        // Кеш JSON обмежений, тож ділимо лише на задачі, що зберегли кеш після серіалізації всіх
+        before = usedHeap();
+        for (Task task : tasks) {
+            TaskJsonSerializer.toJson(task);
+        }
+        after = usedHeap();
+        long cached = 0;
+        for (Task task : tasks) {
+            if (task.cachedJson() != null) {
+                cached++;
+            }
+        }
+        System.out.printf("Задач із кешем JSON: %,d, байтів кешу на задачу: %.1f%n",
+                cached, (double) (after - before) / cached);
+        System.out.println(tasks[count - 1].getId());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
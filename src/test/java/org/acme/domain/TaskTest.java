@@ -0,0 +1,158 @@
+package org.acme.domain;
+
+import org.acme.repository.TaskFileHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskTest {
+
+    @Test
+    void copyKeepsAllFieldsAndIsIndependent() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 2, 3, 4, 5, 678_000_000);
+        Task original = new Task(42, "Оригінал", TaskStatus.DONE, TaskPriority.HIGH, createdAt, createdAt.plusDays(1), 7);
+        original.cacheJson(new byte[]{1});
+
+        Task copy = original.copy();
+        assertNotSame(original, copy);
+        assertEquals(42, copy.getId());
+        assertEquals("Оригінал", copy.getTitle());
+        assertEquals(TaskStatus.DONE, copy.getStatus());
+        assertEquals(TaskPriority.HIGH, copy.getPriority());
+        assertEquals(createdAt, copy.getCreatedAt());
+        assertEquals(createdAt.plusDays(1), copy.getUpdatedAt());
+        assertEquals(7, copy.getVersion());
+        assertNull(copy.cachedJson());
+
+        original.setStatus(TaskStatus.NEW);
+        original.incrementVersion();
+        assertEquals(TaskStatus.DONE, copy.getStatus());
+        assertEquals(7, copy.getVersion());
+    }
+
+    @Test
+    void copyKeepsMissingValues() {
+        Task copy = new Task().copy();
+        assertEquals(-1, copy.getId());
+        assertNull(copy.getTitle());
+        assertNull(copy.getStatus());
+        assertNull(copy.getCreatedAt());
+    }
+
+    @Test
+    void datesRoundTripThroughMillisIndependentlyOfDefaultZone() {
+        // 30.03.2025 02:30 не існує в Europe/Kyiv (перехід на літній час), а 1969 рік дає від'ємні мілісекунди
+        List<LocalDateTime> dates = List.of(
+                LocalDateTime.of(2025, 3, 30, 3, 30),
+                LocalDateTime.of(2025, 3, 30, 2, 30),
+                LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_000_000),
+                LocalDateTime.of(2025, 1, 2, 3, 4, 5, 678_000_000));
+
+        TimeZone defaultZone = TimeZone.getDefault();
+        try {
+            for (String zone : List.of("UTC", "Europe/Kyiv", "America/New_York")) {
+                TimeZone.setDefault(TimeZone.getTimeZone(zone));
+                for (LocalDateTime date : dates) {
+                    Task task = new Task(1, "Дата", TaskStatus.NEW, TaskPriority.LOW, date, date);
+                    assertEquals(date, task.getCreatedAt(), zone);
+                    assertEquals(date, task.getUpdatedAt(), zone);
+
+                    // Мілісекунди — це локальний час як UTC, тож вони не залежать від поясу JVM
+                    long millis = date.toInstant(ZoneOffset.UTC).toEpochMilli();
+                    assertEquals(millis, task.createdAtEpochMillis(), zone);
+                    assertEquals(millis, Task.toEpochMillis(date), zone);
+                    assertEquals(date, Task.fromEpochMillis(millis), zone);
+                }
+            }
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    @Test
+    void subMillisecondPartIsTruncated() {
+        LocalDateTime precise = LocalDateTime.of(2025, 1, 2, 3, 4, 5, 123_456_789);
+        LocalDateTime truncated = LocalDateTime.of(2025, 1, 2, 3, 4, 5, 123_000_000);
+
+        Task task = new Task(1, "Точність", TaskStatus.NEW, TaskPriority.LOW, precise, precise.plusNanos(543_210));
+        assertEquals(truncated, task.getCreatedAt());
+        assertEquals(truncated, task.getUpdatedAt());
+        assertEquals(task.createdAtEpochMillis(), task.updatedAtEpochMillis());
+
+        task.setUpdatedAt(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_999));
+        assertEquals(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_000_000), task.getUpdatedAt());
+
+        // Дата, створена зараз, також зберігається з точністю до мілісекунди
+        assertEquals(0, new Task("Нова", TaskPriority.LOW).getCreatedAt().getNano() % 1_000_000);
+    }
+
+    @Test
+    void statusAndPriorityKeepTheirValuesThroughByteOrdinals() {
+        LocalDateTime at = LocalDateTime.of(2025, 1, 2, 3, 4);
+        for (TaskStatus status : TaskStatus.values()) {
+            for (TaskPriority priority : TaskPriority.values()) {
+                Task task = new Task(1, "Ординали", status, priority, at, at);
+                assertEquals(status, task.getStatus());
+                assertEquals(priority, task.getPriority());
+            }
+        }
+
+        Task task = new Task(1, "Ординали", TaskStatus.NEW, TaskPriority.LOW, at, at);
+        task.setStatus(TaskStatus.CANCELLED);
+        task.setPriority(TaskPriority.HIGH);
+        assertEquals(TaskStatus.CANCELLED, task.getStatus());
+        assertEquals(TaskPriority.HIGH, task.getPriority());
+
+        task.setStatus(null);
+        task.setPriority(null);
+        assertNull(task.getStatus());
+        assertNull(task.getPriority());
+    }
+
+    @Test
+    void csvRoundTripKeepsCompactFields() throws Exception {
+        List<Task> tasks = List.of(
+                new Task(1, "Перша", TaskStatus.IN_PROGRESS, TaskPriority.HIGH,
+                        LocalDateTime.of(2025, 1, 2, 3, 4, 5), LocalDateTime.of(2025, 2, 3, 4, 5, 6), 3),
+                new Task(2, "Друга", TaskStatus.CANCELLED, TaskPriority.LOW,
+                        LocalDateTime.of(1969, 12, 31, 23, 59, 59), LocalDateTime.of(2025, 3, 30, 2, 30), 0));
+        StringWriter csv = new StringWriter();
+        TaskFileHandler.writeCsv(tasks, csv);
+
+        String[] lines = csv.toString().split("\\R");
+        assertEquals(Task.getHeader(), lines[0]);
+        assertEquals("1,Перша,IN_PROGRESS,HIGH,02.01.2025 03:04:05,03.02.2025 04:05:06,3", lines[1]);
+        assertNull(TaskFileHandler.parseLine(lines[0]));
+        for (int i = 0; i < tasks.size(); i++) {
+            Task expected = tasks.get(i);
+            Task parsed = TaskFileHandler.parseLine(lines[i + 1]);
+            assertEquals(expected.getId(), parsed.getId());
+            assertEquals(expected.getTitle(), parsed.getTitle());
+            assertEquals(expected.getStatus(), parsed.getStatus());
+            assertEquals(expected.getPriority(), parsed.getPriority());
+            assertEquals(expected.createdAtEpochMillis(), parsed.createdAtEpochMillis());
+            assertEquals(expected.updatedAtEpochMillis(), parsed.updatedAtEpochMillis());
+            assertEquals(expected.getVersion(), parsed.getVersion());
+        }
+    }
+
+    @Test
+    void csvKeepsWholeSecondsOnly() {
+        Task task = new Task(1, "Мілісекунди", TaskStatus.NEW, TaskPriority.LOW,
+                LocalDateTime.of(2025, 1, 2, 3, 4, 5, 678_000_000), LocalDateTime.of(2025, 1, 2, 3, 4, 5));
+
+        // Формат файлу має точність до секунди, тож мілісекунди після перезапуску відкидаються
+        Task parsed = TaskFileHandler.parseLine(task.toString());
+        assertEquals(LocalDateTime.of(2025, 1, 2, 3, 4, 5), parsed.getCreatedAt());
+        assertTrue(parsed.createdAtEpochMillis() < task.createdAtEpochMillis());
+    }
+}
@@ -0,0 +1,88 @@
+package org.acme.repository;
+
+import org.acme.domain.Task;
+import org.acme.domain.TaskPriority;
+import org.acme.domain.TaskRepository;
+import org.acme.domain.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк пропускної здатності записів залежно від кількості шардів.
+ * Не є JUnit-тестом (surefire його не запускає); запуск після ./mvnw test-compile:
+ *
+ *   java -cp target/classes:target/test-classes org.acme.repository.ShardedTaskRepositoryBenchmark [writers] [opsPerWriter] [maxShards]
+ *
+ * Кожен потік-писач створює задачу і двічі змінює її (статус, пріоритет).
+ * Для порівняння першим рядком вимірюється TaskManager (один спільний список).
+ * Кількість шардів подвоюється від 1 до maxShards (за замовчуванням — подвоєна кількість ядер).
+ */
+public class ShardedTaskRepositoryBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int writers = args.length > 0 ? Integer.parseInt(args[0]) : cores * 2;
+        int opsPerWriter = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int maxShards = args.length > 2 ? Integer.parseInt(args[2]) : cores * 2;
+
+        System.out.printf("Ядер: %d, писачів: %d, операцій на писача: %d%n", cores, writers, opsPerWriter);
+        System.out.printf("%-22s %15s%n", "репозиторій", "записів/с");
+
+        // Прогрів JIT; потоки шардів прогрівного репозиторію зупиняються до вимірювань
+        ShardedTaskRepository warmUp = new ShardedTaskRepository(cores);
+        run(warmUp, writers, opsPerWriter / 4);
+        warmUp.shutdown();
+        run(new TaskManager(), writers, opsPerWriter / 4);
+
+        System.out.printf("%-22s %,15.0f%n", "TaskManager", run(new TaskManager(), writers, opsPerWriter));
+
+        List<Integer> shardCounts = new ArrayList<>();
+        for (int n = 1; n <= maxShards; n *= 2) {
+            shardCounts.add(n);
+        }
+        for (int n : shardCounts) {
+            ShardedTaskRepository repository = new ShardedTaskRepository(n);
+            double throughput = run(repository, writers, opsPerWriter);
+            repository.shutdown();
+            System.out.printf("%-22s %,15.0f%n", "sharded x" + n, throughput);
+        }
+    }
+
+    // Повертає кількість операцій запису за секунду
+    private static double run(TaskRepository repository, int writers, int opsPerWriter) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(writers);
+
+        for (int w = 0; w < writers; w++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < opsPerWriter; i++) {
+                        Task task = repository.addTask("Задача " + i, TaskPriority.MEDIUM);
+                        repository.updateTaskStatus(task.getId(), TaskStatus.IN_PROGRESS);
+                        repository.updateTaskPriority(task.getId(), TaskPriority.HIGH);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - startedAt;
+
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+        return (double) writers * opsPerWriter * 3 / (elapsed / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,137 @@
+package org.acme.repository;
+
+import org.acme.domain.Task;
+import org.acme.domain.TaskPriority;
+import org.acme.domain.TaskStats;
+import org.acme.domain.TaskStatus;
+import org.acme.domain.TaskVersionConflictException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Шардований репозиторій повинен поводитись так само, як TaskManager:
+ * результати, злиті з кількох шардів, порівнюються з тим самим набором задач в одному TaskManager.
+ */
+class ShardedTaskRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private ShardedTaskRepository sharded;
+    private TaskManager reference;
+
+    @BeforeEach
+    void setUp() {
+        sharded = new ShardedTaskRepository(4);
+        reference = new TaskManager();
+
+        // Час створення навмисно не збігається з порядком id, пріоритети й статуси перемішані
+        List<Task> initial = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            long id = 1000 + i;
+            LocalDateTime createdAt = BASE.plusMinutes((i * 7L) % 13);
+            initial.add(new Task(id, "Задача " + i,
+                    TaskStatus.values()[i % TaskStatus.values().length],
+                    TaskPriority.values()[(i / 3) % TaskPriority.values().length],
+                    createdAt, createdAt, 1));
+        }
+        sharded.setInitialTasks(initial);
+        reference.setInitialTasks(initial);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sharded.shutdown();
+    }
+
+    @Test
+    void mergedResultsMatchSingleRepository() {
+        assertEquals(ids(reference.getAllTasks()), ids(sharded.getAllTasks()));
+        assertEquals(ids(reference.sortTasksByCreatedAt()), ids(sharded.sortTasksByCreatedAt()));
+        assertEquals(ids(reference.sortTasksByPriority()), ids(sharded.sortTasksByPriority()));
+        assertEquals(ids(reference.sortTasksByStatus()), ids(sharded.sortTasksByStatus()));
+        assertEquals(ids(reference.filterTasksByStatus(TaskStatus.DONE)), ids(sharded.filterTasksByStatus(TaskStatus.DONE)));
+        assertEquals(ids(reference.findTasksByTitle("задача 1")), ids(sharded.findTasksByTitle("задача 1")));
+        assertEquals(ids(reference.findTasksCreatedBetween(BASE.plusMinutes(3), BASE.plusMinutes(8))),
+                ids(sharded.findTasksCreatedBetween(BASE.plusMinutes(3), BASE.plusMinutes(8))));
+        assertEquals(reference.getStats(), sharded.getStats());
+    }
+
+    @Test
+    void mergedOrderIsSortedAcrossShards() {
+        List<Task> all = sharded.getAllTasks();
+        assertEquals(40, all.size());
+        assertEquals(all.stream().sorted(Comparator.comparingLong(Task::getId)).toList(), all);
+
+        List<Task> byCreatedAt = sharded.sortTasksByCreatedAt();
+        for (int i = 1; i < byCreatedAt.size(); i++) {
+            Task prev = byCreatedAt.get(i - 1);
+            Task next = byCreatedAt.get(i);
+            assertTrue(prev.createdAtEpochMillis() < next.createdAtEpochMillis()
+                    || prev.createdAtEpochMillis() == next.createdAtEpochMillis() && prev.getId() < next.getId());
+        }
+    }
+
+    @Test
+    void updateWithStaleVersionConflicts() {
+        Task updated = sharded.updateTask(1005, "Нова назва", null, null, 1L).orElseThrow();
+        assertEquals(2, updated.getVersion());
+
+        TaskVersionConflictException conflict = assertThrows(TaskVersionConflictException.class,
+                () -> sharded.updateTask(1005, "Ще одна", null, null, 1L));
+        assertEquals(2, conflict.getActualVersion());
+        assertEquals("Нова назва", sharded.getTaskById(1005).orElseThrow().getTitle());
+
+        assertTrue(sharded.updateTask(999_999, "Немає", null, null, null).isEmpty());
+    }
+
+    @Test
+    void removeTaskIfVersionOnlyRemovesMatchingVersion() {
+        assertFalse(sharded.removeTaskIfVersion(1007, 5));
+        assertTrue(sharded.getTaskById(1007).isPresent());
+
+        assertTrue(sharded.removeTaskIfVersion(1007, 1));
+        assertTrue(sharded.getTaskById(1007).isEmpty());
+        assertFalse(sharded.removeTaskIfVersion(1007, 1));
+        assertEquals(39, sharded.getStats().total());
+        assertTrue(sharded.sortTasksByCreatedAt().stream().noneMatch(t -> t.getId() == 1007));
+    }
+
+    @Test
+    void saveTaskReplacesExistingTaskAndItsIndexEntries() {
+        Task old = sharded.getTaskById(1010).orElseThrow();
+        LocalDateTime movedTo = BASE.plusDays(1);
+        Task replacement = new Task(1010, "Замінена", TaskStatus.CANCELLED, TaskPriority.HIGH, movedTo, movedTo, 7);
+        sharded.saveTask(replacement);
+
+        assertSame(replacement, sharded.getTaskById(1010).orElseThrow());
+        assertEquals(40, sharded.getAllTasks().size());
+
+        TaskStats stats = sharded.getStats();
+        assertEquals(40, stats.total());
+        reference.saveTask(new Task(1010, "Замінена", TaskStatus.CANCELLED, TaskPriority.HIGH, movedTo, movedTo, 7));
+        assertEquals(reference.getStats(), stats);
+
+        // Стара копія зникла з часових індексів, нова — в кінці за createdAt
+        List<Task> byCreatedAt = sharded.sortTasksByCreatedAt();
+        assertEquals(40, byCreatedAt.size());
+        assertSame(replacement, byCreatedAt.get(byCreatedAt.size() - 1));
+        assertTrue(byCreatedAt.stream().noneMatch(t -> t == old));
+        assertEquals(List.of(1010L), ids(sharded.findTasksUpdatedSince(movedTo)));
+    }
+
+    private static List<Long> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+}
@@ -0,0 +1,94 @@
+package org.acme.repository;
+
+import org.acme.domain.Task;
+import org.acme.domain.TaskPriority;
+import org.acme.domain.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskArchiveTest {
+
+    private static final LocalDateTime DONE_AT = LocalDateTime.of(2020, 1, 2, 9, 0);
+
+    @TempDir
+    Path dir;
+
+    private TaskArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        archive = open();
+    }
+
+    // Новий екземпляр над тим самим каталогом — як після перезапуску
+    private TaskArchive open() {
+        return TestStores.archive(dir);
+    }
+
+    private static Task task(long id, String title) {
+        return new Task(id, title, TaskStatus.DONE, TaskPriority.LOW, DONE_AT, DONE_AT, 1);
+    }
+
+    private void archive(Task... tasks) throws IOException {
+        archive.writeSegment(List.of(tasks));
+    }
+
+    private List<Long> ids(TaskArchive source) {
+        return source.find(t -> true).stream().map(Task::getId).sorted().toList();
+    }
+
+    @Test
+    void buriedTaskIsHiddenAndStaysHiddenAfterReload() throws IOException {
+        archive(task(1, "Перша"), task(2, "Друга"));
+
+        archive.bury(1);
+        assertFalse(archive.contains(1));
+        assertTrue(archive.findById(1).isEmpty());
+        assertEquals(List.of(2L), ids(archive));
+
+        TaskArchive reloaded = open();
+        assertFalse(reloaded.contains(1));
+        assertTrue(reloaded.findById(1).isEmpty());
+        assertEquals("Друга", reloaded.findById(2).orElseThrow().getTitle());
+        assertEquals(List.of(2L), ids(reloaded));
+    }
+
+    @Test
+    void taskArchivedAgainAfterBuryIsVisible() throws IOException {
+        archive(task(1, "Стара копія"));
+        archive.bury(1);
+
+        archive(task(1, "Нова копія"));
+        assertTrue(archive.contains(1));
+        assertEquals("Нова копія", archive.findById(1).orElseThrow().getTitle());
+        assertEquals(List.of(1L), ids(archive));
+
+        assertEquals("Нова копія", open().findById(1).orElseThrow().getTitle());
+    }
+
+    @Test
+    void segmentAndIndexAreOnDiskWhenWriteSegmentReturns() throws IOException {
+        archive(task(1, "Перша"), task(2, "Друга"));
+
+        assertTrue(Files.exists(dir.resolve("segment-000001.csv.gz")));
+        assertTrue(Files.exists(dir.resolve("segment-000001.ids")));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertTrue(files.noneMatch(f -> f.toString().endsWith(".tmp")));
+        }
+        TaskArchive reloaded = open();
+        assertEquals(List.of(1L, 2L), ids(reloaded));
+        assertEquals(1, reloaded.segmentCount());
+    }
+}
@@ -0,0 +1,149 @@
+package org.acme.repository;
+
+import org.acme.domain.Task;
+import org.acme.domain.TaskPriority;
+import org.acme.domain.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskManagerTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    private final TaskManager repository = new TaskManager();
+
+    private static Task task(long id, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        return new Task(id, "Задача " + id, TaskStatus.NEW, TaskPriority.MEDIUM, createdAt, updatedAt, 1);
+    }
+
+    @Test
+    void createdRangeIncludesBothBounds() {
+        repository.setInitialTasks(List.of(
+                task(1, BASE.minusSeconds(1), BASE),
+                task(2, BASE, BASE),
+                task(3, BASE.plusHours(1), BASE),
+                task(4, BASE.plusHours(2), BASE),
+                task(5, BASE.plusHours(2).plusNanos(1_000_000), BASE)));
+
+        assertEquals(List.of(2L, 3L, 4L), ids(repository.findTasksCreatedBetween(BASE, BASE.plusHours(2))));
+        assertEquals(List.of(1L, 2L), ids(repository.findTasksCreatedBetween(null, BASE)));
+        assertEquals(List.of(4L, 5L), ids(repository.findTasksCreatedBetween(BASE.plusHours(2), null)));
+        assertTrue(repository.findTasksCreatedBetween(BASE.plusHours(2), BASE).isEmpty());
+    }
+
+    @Test
+    void updatedIndexFollowsUpdates() {
+        repository.setInitialTasks(List.of(task(1, BASE, BASE), task(2, BASE, BASE)));
+        LocalDateTime since = LocalDateTime.now().minusSeconds(1);
+        assertTrue(repository.findTasksUpdatedSince(since).isEmpty());
+
+        repository.updateTask(1, "Нова назва", null, null, null);
+        assertEquals(List.of(1L), ids(repository.findTasksUpdatedSince(since)));
+        assertEquals(List.of(2L, 1L), ids(repository.findTasksUpdatedSince(BASE)));
+
+        // Оновлення без змін не рухає задачу в індексі
+        repository.updateTask(2, "Задача 2", null, null, null);
+        assertEquals(List.of(1L), ids(repository.findTasksUpdatedSince(since)));
+    }
+
+    @Test
+    void updateWaitingOnReplacedTaskAppliesToReplacement() throws Exception {
+        Task original = task(1, BASE, BASE);
+        repository.setInitialTasks(List.of(original));
+        Task replacement = new Task(1, "Імпортована", TaskStatus.IN_PROGRESS, TaskPriority.LOW, BASE, BASE, 5);
+
+        AtomicReference<Thread> updater = new AtomicReference<>();
+        CompletableFuture<Optional<Task>> update;
+        synchronized (original) {
+            update = CompletableFuture.supplyAsync(() -> {
+                updater.set(Thread.currentThread());
+                return repository.updateTask(1, null, TaskStatus.DONE, null, null);
+            });
+            awaitBlocked(updater);
+            // Поки оновлення чекає на монітор старої копії, імпорт замінює задачу
+            repository.saveTask(replacement);
+        }
+
+        Task updated = update.get().orElseThrow();
+        assertSame(replacement, updated);
+        assertEquals(TaskStatus.DONE, updated.getStatus());
+        assertEquals(6, updated.getVersion());
+        assertEquals(TaskStatus.NEW, original.getStatus());
+        assertEquals(1, repository.getStats().byStatus().get(TaskStatus.DONE));
+    }
+
+    @Test
+    void removeWaitingOnReplacedTaskRemovesReplacement() throws Exception {
+        Task original = task(1, BASE, BASE);
+        repository.setInitialTasks(List.of(original));
+
+        AtomicReference<Thread> remover = new AtomicReference<>();
+        CompletableFuture<Boolean> remove;
+        synchronized (original) {
+            remove = CompletableFuture.supplyAsync(() -> {
+                remover.set(Thread.currentThread());
+                return repository.removeTask(1);
+            });
+            awaitBlocked(remover);
+            repository.saveTask(task(1, BASE, BASE.plusDays(1)));
+        }
+
+        assertTrue(remove.get());
+        assertTrue(repository.getTaskById(1).isEmpty());
+        assertEquals(0, repository.getStats().total());
+    }
+
+    @Test
+    void readersNeverSeePartialStoreDuringResnapshot() {
+        List<Task> small = tasks(1, 100);
+        List<Task> large = tasks(1, 300);
+        repository.setInitialTasks(small);
+
+        // Фоловер раз у раз перезавантажує знімок, а читачі без блокувань звіряють розмір сховища
+        AtomicBoolean running = new AtomicBoolean(true);
+        CompletableFuture<Void> snapshots = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 2_000; i++) {
+                repository.setInitialTasks(i % 2 == 0 ? large : small);
+            }
+            running.set(false);
+        });
+        while (running.get()) {
+            int size = repository.getAllTasks().size();
+            assertTrue(size == 100 || size == 300, "Частковий стан: " + size + " задач");
+            long total = repository.getStats().total();
+            assertTrue(total == 100 || total == 300, "Часткова статистика: " + total);
+            assertTrue(repository.getTaskById(50).isPresent());
+        }
+        snapshots.join();
+    }
+
+    // Чекає, поки потік стане в чергу на монітор
+    private static void awaitBlocked(AtomicReference<Thread> thread) throws InterruptedException {
+        while (thread.get() == null || thread.get().getState() != Thread.State.BLOCKED) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static List<Task> tasks(long first, long last) {
+        List<Task> tasks = new ArrayList<>();
+        for (long id = first; id <= last; id++) {
+            tasks.add(task(id, BASE, BASE));
+        }
+        return tasks;
+    }
+
+    private static List<Long> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+}
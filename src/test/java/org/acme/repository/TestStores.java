@@ -0,0 +1,26 @@
+package org.acme.repository;
+
+import java.nio.file.Path;
+
+/**
+ * Файлові сховища поза CDI для тестів з інших пакетів (шляхи в них задаються конфігурацією).
+ */
+public final class TestStores {
+
+    private TestStores() {
+    }
+
+    public static TaskFileHandler fileHandler(Path file) {
+        TaskFileHandler handler = new TaskFileHandler();
+        handler.filePath = file.toString();
+        return handler;
+    }
+
+    // Архів з уже прочитаним індексом — як після старту застосунку
+    public static TaskArchive archive(Path dir) {
+        TaskArchive archive = new TaskArchive();
+        archive.archiveDir = dir.toString();
+        archive.loadIndex();
+        return archive;
+    }
+}
@@ -0,0 +1,134 @@
+package org.acme.service;
+
+import org.acme.domain.Task;
+import org.acme.domain.TaskPriority;
+import org.acme.domain.TaskStatus;
+import org.acme.repository.TaskArchive;
+import org.acme.repository.TaskManager;
+import org.acme.repository.TestStores;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersistenceManagerArchiveTest {
+
+    private static final LocalDateTime DONE_AT = LocalDateTime.of(2020, 1, 2, 9, 0);
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2021, 1, 1, 0, 0);
+
+    // Імітація аварійної зупинки процесу посеред архівування
+    private static class Crash extends RuntimeException {
+    }
+
+    // Дія, що виконується всередині compare-and-delete архіватора (до або після видалення з гарячого сховища)
+    private interface Hook {
+        void run(long id);
+    }
+
+    private static class HookedTaskManager extends TaskManager {
+        Hook beforeRemove = id -> { };
+        Hook afterRemove = id -> { };
+
+        @Override
+        public boolean removeTaskIfVersion(long id, long expectedVersion) {
+            beforeRemove.run(id);
+            boolean removed = super.removeTaskIfVersion(id, expectedVersion);
+            afterRemove.run(id);
+            return removed;
+        }
+    }
+
+    @TempDir
+    Path dir;
+
+    private final HookedTaskManager repository = new HookedTaskManager();
+
+    private PersistenceManager open() {
+        WriteAdmission admission = new WriteAdmission();
+        admission.init(); // maxInFlight = 0: без обмежень
+
+        ReplicationLog log = new ReplicationLog();
+        log.role = "standalone";
+        log.taskRepository = repository;
+
+        PersistenceManager manager = new PersistenceManager();
+        manager.dataStoreHandler = TestStores.fileHandler(dir.resolve("tasks.csv"));
+        manager.taskRepository = repository;
+        manager.replicationLog = log;
+        manager.taskArchive = TestStores.archive(dir.resolve("archive"));
+        manager.writeAdmission = admission;
+        return manager;
+    }
+
+    // Як після завантаження файлу: лічильник id зсунутий за наявні задачі
+    private static void load(PersistenceManager manager, long... ids) {
+        List<Task> tasks = new ArrayList<>();
+        for (long id : ids) {
+            tasks.add(done(id));
+        }
+        manager.setInitialTasks(tasks);
+        Task.setNextId(ids[ids.length - 1]);
+    }
+
+    private static Task done(long id) {
+        return new Task(id, "Задача " + id, TaskStatus.DONE, TaskPriority.LOW, DONE_AT, DONE_AT, 1);
+    }
+
+    @Test
+    void tasksSurviveCrashAfterConcurrentSaveDuringArchiving() {
+        PersistenceManager manager = open();
+        load(manager, 1, 2, 3);
+
+        // Після того як перша задача прибрана з гарячого сховища, паралельний запис переписує tasks.csv,
+        // а процес падає до завершення архівування
+        repository.afterRemove = id -> {
+            CompletableFuture.runAsync(() -> manager.addTask("Паралельний запис", TaskPriority.HIGH)).join();
+            throw new Crash();
+        };
+        assertThrows(Crash.class, () -> manager.archiveTasks(CUTOFF, 10));
+
+        // Перезапуск: гаряче сховище з файлу, архів з каталогу
+        List<Task> hot = TestStores.fileHandler(dir.resolve("tasks.csv")).loadAll();
+        TaskArchive archive = TestStores.archive(dir.resolve("archive"));
+        assertTrue(hot.stream().noneMatch(t -> t.getId() == 1));
+        for (long id = 1; id <= 3; id++) {
+            long taskId = id;
+            assertTrue(hot.stream().anyMatch(t -> t.getId() == taskId) || archive.contains(taskId),
+                    "Задачу " + id + " втрачено");
+        }
+        assertEquals("Задача 1", archive.findById(1).orElseThrow().getTitle());
+    }
+
+    @Test
+    void taskChangedDuringArchivingStaysHotAndItsArchivedCopyIsBuried() throws Exception {
+        PersistenceManager manager = open();
+        load(manager, 1, 2);
+
+        // Задача 2 змінюється між записом сегмента та compare-and-delete
+        repository.beforeRemove = id -> {
+            if (id == 2) {
+                manager.updateTaskStatus(2, TaskStatus.NEW);
+            }
+        };
+        assertEquals(1, manager.archiveTasks(CUTOFF, 10));
+
+        assertEquals(TaskStatus.NEW, manager.getTaskById(2).orElseThrow().getStatus());
+        assertTrue(manager.getTaskById(1).isPresent());
+
+        // Після видалення гарячої копії застаріла архівна не з'являється ні зараз, ні після перезапуску
+        assertTrue(manager.removeTask(2));
+        assertTrue(manager.getTaskById(2).isEmpty());
+        TaskArchive reloaded = TestStores.archive(dir.resolve("archive"));
+        assertFalse(reloaded.contains(2));
+        assertTrue(reloaded.contains(1));
+    }
+}
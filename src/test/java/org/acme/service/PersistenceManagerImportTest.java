@@ -0,0 +1,124 @@
+package org.acme.service;
+
+import org.acme.domain.Task;
+import org.acme.domain.TaskPriority;
+import org.acme.domain.TaskStatus;
+import org.acme.repository.TaskManager;
+import org.acme.repository.TestStores;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersistenceManagerImportTest {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @TempDir
+    Path dir;
+
+    private final TaskManager repository = new TaskManager();
+
+    private PersistenceManager open() {
+        WriteAdmission admission = new WriteAdmission();
+        admission.init(); // maxInFlight = 0: без обмежень
+
+        ReplicationLog log = new ReplicationLog();
+        log.role = "standalone";
+        log.taskRepository = repository;
+
+        PersistenceManager manager = new PersistenceManager();
+        manager.dataStoreHandler = TestStores.fileHandler(dir.resolve("tasks.csv"));
+        manager.taskRepository = repository;
+        manager.replicationLog = log;
+        manager.taskArchive = TestStores.archive(dir.resolve("archive"));
+        manager.writeAdmission = admission;
+        return manager;
+    }
+
+    // Наступний id, який видасть лічильник (пробна задача сама займає один id)
+    private static long nextId() {
+        return new Task("Проба", TaskPriority.LOW).getId() + 1;
+    }
+
+    // Частина імпорту з id first..first+size-1, про які лічильник ще не знає
+    private static List<Task> chunk(long first, int size) {
+        List<Task> tasks = new ArrayList<>(size);
+        for (long id = first; id < first + size; id++) {
+            tasks.add(new Task(id, "Імпорт " + id, TaskStatus.NEW, TaskPriority.LOW, AT, AT, 1));
+        }
+        return tasks;
+    }
+
+    private static Task createConcurrently(PersistenceManager manager, String title) {
+        return CompletableFuture.supplyAsync(() -> manager.addTask(title, TaskPriority.HIGH)).join();
+    }
+
+    @Test
+    void createBetweenChunksGetsIdPastAppliedChunkAndIsNotOverwritten() throws Exception {
+        PersistenceManager manager = open();
+        long base = nextId();
+        List<Task> created = new ArrayList<>();
+
+        PersistenceManager.ImportOutcome outcome = manager.importTasks(sink -> {
+            sink.accept(chunk(base, 10));
+            created.add(createConcurrently(manager, "Створена між частинами"));
+            sink.accept(chunk(base + 10, 10));
+        });
+        Task afterImport = manager.addTask("Створена після імпорту", TaskPriority.LOW);
+
+        // Лічильник уже зсунутий за першу частину, але другу частину імпорт ще не бачив
+        assertEquals(base + 10, created.get(0).getId());
+        assertEquals("Створена між частинами", manager.getTaskById(base + 10).orElseThrow().getTitle());
+        assertEquals(new PersistenceManager.ImportOutcome(19, 1), outcome);
+        assertEquals("Імпорт " + (base + 19), manager.getTaskById(base + 19).orElseThrow().getTitle());
+        assertEquals(base + 20, afterImport.getId());
+    }
+
+    @Test
+    void tasksCreatedConcurrentlyWithImportSurviveIt() throws Exception {
+        PersistenceManager manager = open();
+        long base = nextId();
+        int chunks = 50;
+        int chunkSize = 200;
+
+        AtomicBoolean importing = new AtomicBoolean(true);
+        Map<Long, String> created = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> creator = new ArrayList<>();
+
+        PersistenceManager.ImportOutcome outcome = manager.importTasks(sink -> {
+            // Створення починаються, коли імпорт уже триває: задачі, створені до нього, імпорт має право перезаписати
+            creator.add(CompletableFuture.runAsync(() -> {
+                int n = 0;
+                while (importing.get()) {
+                    String title = "Паралельна " + n++;
+                    created.put(manager.addTask(title, TaskPriority.HIGH).getId(), title);
+                }
+            }));
+            while (created.isEmpty()) {
+                Thread.onSpinWait();
+            }
+            for (int i = 0; i < chunks; i++) {
+                sink.accept(chunk(base + (long) i * chunkSize, chunkSize));
+                Thread.yield();
+            }
+        });
+        importing.set(false);
+        creator.get(0).join();
+
+        assertTrue(created.size() > 0);
+        created.forEach((id, title) -> assertEquals(title, manager.getTaskById(id).orElseThrow().getTitle()));
+        assertEquals((long) chunks * chunkSize, outcome.imported() + outcome.conflicts());
+        assertEquals(created.size() + outcome.imported(), manager.getAllTasks().size());
+    }
+}
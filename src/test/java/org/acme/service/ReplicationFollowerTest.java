@@ -0,0 +1,231 @@
+package org.acme.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.acme.domain.Task;
+import org.acme.domain.TaskPriority;
+import org.acme.domain.TaskStatus;
+import org.acme.repository.TaskManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Фоловер проти лідера в тому ж процесі: HTTP-сервер JDK віддає знімок і журнал
+ * справжнього ReplicationLog так само, як ReplicationResource.
+ */
+class ReplicationFollowerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private HttpServer server;
+    private volatile Leader leader;
+    private volatile boolean leaderAvailable = true;
+    private final AtomicInteger snapshotsServed = new AtomicInteger();
+
+    private TaskManager followerRepository;
+    private ReplicationFollower follower;
+
+    // Стан лідера: його репозиторій і журнал (новий об'єкт — це перезапуск лідера з новою епохою)
+    private record Leader(TaskManager repository, ReplicationLog log) {
+
+        static Leader start(int capacity) {
+            ReplicationLog log = new ReplicationLog();
+            log.role = "leader";
+            log.capacity = capacity;
+            log.taskRepository = new TaskManager();
+            return new Leader((TaskManager) log.taskRepository, log);
+        }
+
+        Task add(String title) {
+            Task task = repository.addTask(title, TaskPriority.MEDIUM);
+            log.recordChange(task.getId());
+            return task;
+        }
+
+        void setStatus(long id, TaskStatus status) {
+            repository.updateTaskStatus(id, status);
+            log.recordChange(id);
+        }
+
+        void remove(long id) {
+            repository.removeTask(id);
+            log.recordChange(id);
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        leader = Leader.start(1000);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/replication/snapshot", exchange -> {
+            if (!leaderAvailable) {
+                respond(exchange, 503, new byte[0]);
+                return;
+            }
+            snapshotsServed.incrementAndGet();
+            respond(exchange, 200, mapper.writeValueAsBytes(leader.log().snapshot()));
+        });
+        server.createContext("/replication/log", exchange -> {
+            if (!leaderAvailable) {
+                respond(exchange, 503, new byte[0]);
+                return;
+            }
+            Map<String, String> query = query(exchange);
+            try {
+                Optional<ReplicationLog.LogBatch> batch = leader.log().entriesAfter(
+                        Long.parseLong(query.get("from")), Long.parseLong(query.get("waitMs")));
+                if (batch.isPresent()) {
+                    respond(exchange, 200, mapper.writeValueAsBytes(batch.get()));
+                } else {
+                    respond(exchange, 410, new byte[0]);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                respond(exchange, 503, new byte[0]);
+            }
+        });
+        server.start();
+
+        followerRepository = new TaskManager();
+        follower = new ReplicationFollower();
+        follower.role = "follower";
+        follower.leaderUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        follower.pollWaitMillis = 50;
+        follower.taskRepository = followerRepository;
+        follower.objectMapper = mapper;
+    }
+
+    @AfterEach
+    void tearDown() {
+        follower.stop();
+        server.stop(0);
+    }
+
+    @Test
+    void followerLoadsSnapshotAndAppliesLog() {
+        Task first = leader.add("Перша");
+        Task second = leader.add("Друга");
+        follower.start();
+        awaitCaughtUp();
+        assertEquals(2, followerRepository.getAllTasks().size());
+
+        leader.setStatus(second.getId(), TaskStatus.DONE);
+        leader.remove(first.getId());
+        Task third = leader.add("Третя");
+        awaitCaughtUp();
+
+        assertTrue(followerRepository.getTaskById(first.getId()).isEmpty());
+        assertEquals(TaskStatus.DONE, followerRepository.getTaskById(second.getId()).orElseThrow().getStatus());
+        assertEquals("Третя", followerRepository.getTaskById(third.getId()).orElseThrow().getTitle());
+        assertEquals(leader.log().getHeadSeq(), follower.getAppliedSeq());
+        assertEquals(1, snapshotsServed.get());
+    }
+
+    @Test
+    void overrunLogTriggersNewSnapshot() {
+        leader = Leader.start(4);
+        leader.add("До знімка");
+        follower.start();
+        awaitCaughtUp();
+
+        // Поки фоловер не може дістатися лідера, журнал витісняє записи, яких той ще не бачив
+        leaderAvailable = false;
+        for (int i = 0; i < 10; i++) {
+            leader.add("Витіснена " + i);
+        }
+        leaderAvailable = true;
+
+        await(() -> snapshotsServed.get() == 2 && follower.getAppliedSeq() == leader.log().getHeadSeq());
+        assertEquals(11, followerRepository.getAllTasks().size());
+    }
+
+    @Test
+    void leaderRestartWithNewEpochTriggersNewSnapshot() throws InterruptedException {
+        leader.add("Старий лідер");
+        follower.start();
+        awaitCaughtUp();
+
+        // Новий запуск лідера: інша епоха і нумерація seq з нуля, інший набір задач
+        Thread.sleep(5);
+        Leader restarted = Leader.start(1000);
+        Task survivor = restarted.add("Новий лідер");
+        restarted.add("Ще одна");
+        restarted.add("І ще одна");
+        leader = restarted;
+
+        await(() -> followerRepository.getTaskById(survivor.getId()).isPresent()
+                && followerRepository.getAllTasks().size() == 3);
+        assertEquals(2, snapshotsServed.get());
+    }
+
+    @Test
+    void lagGrowsWhileLeaderIsUnreachable() throws InterruptedException {
+        leader.add("Задача");
+        follower.start();
+        awaitCaughtUp();
+        assertTrue(follower.getLagMillis() < 1000, "lagMillis справного фоловера: " + follower.getLagMillis());
+
+        leaderAvailable = false;
+        Thread.sleep(1500);
+
+        assertEquals(0, follower.getLagEntries());
+        assertTrue(follower.getLagMillis() >= 1000, "lagMillis без лідера: " + follower.getLagMillis());
+        assertTrue(follower.getMillisSinceLastContact() >= 1000);
+    }
+
+    private void awaitCaughtUp() {
+        await(() -> follower.getAppliedSeq() == leader.log().getHeadSeq() && follower.getLagMillis() >= 0);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Умова не виконалась за 10 с");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> result = new HashMap<>();
+        for (String pair : exchange.getRequestURI().getRawQuery().split("&")) {
+            String[] kv = pair.split("=", 2);
+            result.put(kv[0], kv[1]);
+        }
+        return result;
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+        exchange.close();
+    }
+}
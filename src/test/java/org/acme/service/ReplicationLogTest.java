@@ -0,0 +1,136 @@
+package org.acme.service;
+
+import org.acme.domain.Task;
+import org.acme.domain.TaskPriority;
+import org.acme.repository.TaskManager;
+import org.acme.service.ReplicationLog.LogBatch;
+import org.acme.service.ReplicationLog.MutationType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicationLogTest {
+
+    private final TaskManager repository = new TaskManager();
+
+    private ReplicationLog log(String role, int capacity) {
+        ReplicationLog log = new ReplicationLog();
+        log.role = role;
+        log.capacity = capacity;
+        log.taskRepository = repository;
+        return log;
+    }
+
+    // Створює задачу в репозиторії й фіксує її в журналі
+    private Task record(ReplicationLog log) {
+        Task task = repository.addTask("Задача", TaskPriority.LOW);
+        log.recordChange(task.getId());
+        return task;
+    }
+
+    @Test
+    void entriesAfterReturnsEntriesInOrderWithState() throws InterruptedException {
+        ReplicationLog log = log("leader", 10);
+        Task first = record(log);
+        Task second = record(log);
+        repository.removeTask(first.getId());
+        log.recordChange(first.getId());
+
+        LogBatch batch = log.entriesAfter(0, 0).orElseThrow();
+        assertEquals(3, batch.headSeq());
+        assertEquals(3, batch.entries().size());
+        assertEquals(MutationType.UPSERT, batch.entries().get(0).type());
+        assertEquals(second.getId(), batch.entries().get(1).task().id());
+        assertEquals(MutationType.DELETE, batch.entries().get(2).type());
+        assertEquals(first.getId(), batch.entries().get(2).taskId());
+        assertNull(batch.entries().get(2).task());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i + 1, batch.entries().get(i).seq());
+        }
+    }
+
+    @Test
+    void overrunRingRequiresSnapshot() throws InterruptedException {
+        ReplicationLog log = log("leader", 4);
+        for (int i = 0; i < 10; i++) {
+            record(log);
+        }
+
+        // Записи 1..6 вже витіснені: фоловер, що застосував лише 0..5, має перезавантажити знімок
+        assertTrue(log.entriesAfter(0, 0).isEmpty());
+        assertTrue(log.entriesAfter(5, 0).isEmpty());
+
+        LogBatch batch = log.entriesAfter(6, 0).orElseThrow();
+        assertEquals(4, batch.entries().size());
+        assertEquals(7, batch.entries().get(0).seq());
+        assertEquals(10, batch.entries().get(3).seq());
+    }
+
+    @Test
+    void fromSeqAheadOfHeadRequiresSnapshot() throws InterruptedException {
+        // Фоловер дочитав попередній запуск лідера далі, ніж новий журнал
+        ReplicationLog log = log("leader", 10);
+        for (int i = 0; i < 3; i++) {
+            record(log);
+        }
+        assertTrue(log.entriesAfter(5, 0).isEmpty());
+    }
+
+    @Test
+    void batchIsCappedAndFollowerContinuesFromLastSeq() throws InterruptedException {
+        ReplicationLog log = log("leader", 5000);
+        for (int i = 0; i < 2500; i++) {
+            record(log);
+        }
+
+        LogBatch first = log.entriesAfter(0, 0).orElseThrow();
+        assertEquals(1000, first.entries().size());
+        assertEquals(2500, first.headSeq());
+        assertEquals(1000, first.entries().get(999).seq());
+
+        LogBatch last = log.entriesAfter(2000, 0).orElseThrow();
+        assertEquals(500, last.entries().size());
+        assertEquals(2500, last.entries().get(499).seq());
+    }
+
+    @Test
+    void longPollReturnsEmptyBatchWhenCaughtUp() throws InterruptedException {
+        ReplicationLog log = log("leader", 10);
+        record(log);
+
+        long startedAt = System.currentTimeMillis();
+        Optional<LogBatch> batch = log.entriesAfter(1, 100);
+        assertTrue(System.currentTimeMillis() - startedAt >= 90);
+        assertTrue(batch.orElseThrow().entries().isEmpty());
+        assertEquals(1, batch.get().headSeq());
+    }
+
+    @Test
+    void longPollWakesUpOnNewEntry() throws Exception {
+        ReplicationLog log = log("leader", 10);
+        Thread writer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            record(log);
+        });
+        writer.start();
+
+        LogBatch batch = log.entriesAfter(0, 10_000).orElseThrow();
+        writer.join();
+        assertEquals(1, batch.entries().size());
+    }
+
+    @Test
+    void standaloneNodeRecordsNothing() {
+        ReplicationLog log = log("standalone", 10);
+        record(log);
+        assertEquals(0, log.getHeadSeq());
+    }
+}
@@ -0,0 +1,116 @@
+package org.acme.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteAdmissionTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    // Окремий потік на кожен заблокований запис (спільний пул може мати лише один потік)
+    private final ExecutorService writers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void releaseBlockedWrites() {
+        release.countDown();
+        writers.shutdown();
+    }
+
+    private static WriteAdmission admission(int maxInFlight, long acquireTimeoutMillis) {
+        WriteAdmission admission = new WriteAdmission();
+        admission.maxInFlight = maxInFlight;
+        admission.acquireTimeoutMillis = acquireTimeoutMillis;
+        admission.retryAfterSeconds = 7;
+        admission.init();
+        return admission;
+    }
+
+    // Займає місце записом, що чекає на release в окремому потоці; повертається, коли запис уже в роботі
+    private CompletableFuture<String> holdPermit(WriteAdmission admission) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> blocked = CompletableFuture.supplyAsync(() -> admission.execute(() -> {
+            started.countDown();
+            awaitRelease();
+            return "blocked";
+        }), writers);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        return blocked;
+    }
+
+    private void awaitRelease() {
+        try {
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void writeIsShedWhileAllPermitsAreHeld() throws Exception {
+        WriteAdmission admission = admission(1, 0);
+        CompletableFuture<String> blocked = holdPermit(admission);
+        assertEquals(1, admission.getInFlight());
+
+        WriteRejectedException rejected = assertThrows(WriteRejectedException.class,
+                () -> admission.execute(() -> "rejected"));
+        assertEquals(7, rejected.getRetryAfterSeconds());
+        assertEquals(1, admission.getShed());
+        assertEquals(1, admission.getAdmitted());
+        assertEquals(1, admission.getInFlight());
+
+        release.countDown();
+        assertEquals("blocked", blocked.get(10, TimeUnit.SECONDS));
+        assertEquals(0, admission.getInFlight());
+
+        // Місце звільнене — наступний запис допускається
+        assertEquals("admitted", admission.execute(() -> "admitted"));
+        assertEquals(2, admission.getAdmitted());
+        assertEquals(1, admission.getShed());
+        assertEquals(0, admission.getInFlight());
+    }
+
+    @Test
+    void writeWaitsUpToAcquireTimeoutBeforeShedding() throws Exception {
+        WriteAdmission admission = admission(1, 50);
+        holdPermit(admission);
+
+        long start = System.nanoTime();
+        assertThrows(WriteRejectedException.class, () -> admission.execute(() -> "rejected"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 50);
+        assertEquals(1, admission.getShed());
+    }
+
+    @Test
+    void permitIsReleasedWhenWriteFails() throws Exception {
+        WriteAdmission admission = admission(1, 0);
+
+        assertThrows(IOException.class, () -> admission.execute(() -> {
+            throw new IOException("Диск недоступний");
+        }));
+        assertEquals(0, admission.getInFlight());
+        assertEquals("admitted", admission.execute(() -> "admitted"));
+        assertEquals(0, admission.getShed());
+    }
+
+    @Test
+    void zeroLimitDisablesAdmissionControl() throws Exception {
+        WriteAdmission admission = admission(0, 0);
+        holdPermit(admission);
+        holdPermit(admission);
+
+        assertEquals(2, admission.getInFlight());
+        assertEquals("admitted", admission.execute(() -> "admitted"));
+        assertEquals(0, admission.getShed());
+    }
+}